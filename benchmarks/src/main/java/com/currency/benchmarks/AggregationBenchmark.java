@@ -0,0 +1,156 @@
+package com.currency.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.currency.dto.request.ExchangeRequest;
+import com.currency.dto.response.ExchangeResponse;
+import com.currency.exceptions.NoValidRateException;
+import com.currency.services.contracts.IExchangeProvider;
+import com.currency.services.contracts.IRateCache;
+import com.currency.services.implementations.AggregationMetrics;
+import com.currency.services.implementations.ConcurrencyLimiter;
+import com.currency.services.implementations.CrossRateEngine;
+import com.currency.services.implementations.ExchangeRateService;
+import com.currency.services.implementations.FlightRecorder;
+import com.currency.services.implementations.HedgingPolicy;
+import com.currency.services.implementations.MicroBatcher;
+import com.currency.services.implementations.ProviderCapabilities;
+import com.currency.services.implementations.ProviderLatencyTracker;
+import com.currency.services.implementations.RateCache;
+import com.currency.services.implementations.RatePrefetcher;
+import com.currency.services.implementations.RateSnapshotStore;
+import com.currency.utils.Deadline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * End-to-end cost of {@link ExchangeRateService#findBestExchangeRate} against
+ * in-memory providers with a configurable latency and failure rate. With the cache
+ * off every call reaches the providers; with it on, the steady state is a cache hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.AverageTime, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AggregationBenchmark {
+
+    @Param({ "3" })
+    int providers;
+
+    @Param({ "0", "1000" })
+    long latencyMicros;
+
+    @Param({ "0.0", "0.1" })
+    double failureRate;
+
+    @Param({ "false", "true" })
+    boolean cache;
+
+    // Keeps the JUL logger, and so its level, from being garbage collected
+    private static final Logger SERVICE_LOGGER = Logger.getLogger("com.currency");
+
+    private ExchangeRateService service;
+    private ExchangeRequest request;
+
+    @Setup
+    public void setUp() {
+        // Sampled and failed-request traces are logged, console I/O would dominate the measurement
+        SERVICE_LOGGER.setLevel(Level.WARNING);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        ProviderLatencyTracker latencyTracker = Beans.inject(new ProviderLatencyTracker(), "registry", registry);
+        HedgingPolicy hedgingPolicy = Beans.inject(new HedgingPolicy(), "registry", registry);
+        Beans.inject(hedgingPolicy, "latencyTracker", latencyTracker);
+        // A disabled cache passes every lookup straight to the loader
+        IRateCache rateCache = Beans.inject(Beans.inject(new RateCache(), "registry", registry), "enabled", cache);
+
+        List<IExchangeProvider> stubs = IntStream.range(0, providers)
+                .<IExchangeProvider>mapToObj(i -> new StubProvider("STUB" + i,
+                        new BigDecimal("0.85").add(new BigDecimal(i).movePointLeft(3)),
+                        Duration.ofNanos(latencyMicros * 1_000L), failureRate))
+                .toList();
+
+        service = new ExchangeRateService();
+        Beans.inject(service, "providerInstance", new StubInstance<>(stubs));
+        Beans.inject(service, "rateCache", rateCache);
+        Beans.inject(service, "latencyTracker", latencyTracker);
+        Beans.inject(service, "hedgingPolicy", hedgingPolicy);
+        Beans.inject(service, "concurrencyLimiter", Beans.inject(new ConcurrencyLimiter(), "registry", registry));
+        Beans.inject(service, "crossRateEngine", new CrossRateEngine());
+        Beans.inject(service, "snapshotStore", Beans.inject(new RateSnapshotStore(), "enabled", false));
+        // Counts requests like in production; the refresh scheduler is never started here
+        Beans.inject(service, "ratePrefetcher", new RatePrefetcher());
+        Beans.inject(service, "capabilities", Beans.inject(new ProviderCapabilities(), "registry", registry));
+        Beans.inject(service, "microBatcher", Beans.inject(new MicroBatcher(), "registry", registry));
+        FlightRecorder flightRecorder = new FlightRecorder();
+        flightRecorder.init();
+        Beans.inject(service, "flightRecorder", flightRecorder);
+        AggregationMetrics metrics = Beans.inject(new AggregationMetrics(), "registry", registry);
+        metrics.init();
+        Beans.inject(service, "metrics", metrics);
+
+        request = new ExchangeRequest("USD", "EUR", new BigDecimal("100.00"));
+    }
+
+    @Benchmark
+    public ExchangeResponse findBestExchangeRate() {
+        try {
+            return service.findBestExchangeRate(request).await().indefinitely();
+        } catch (NoValidRateException e) {
+            // Every stub failed at once, which is part of the measured distribution
+            return null;
+        }
+    }
+
+    static final class StubProvider implements IExchangeProvider {
+
+        private final String name;
+        private final BigDecimal rate;
+        private final Duration latency;
+        private final double failureRate;
+
+        StubProvider(String name, BigDecimal rate, Duration latency, double failureRate) {
+            this.name = name;
+            this.rate = rate;
+            this.latency = latency;
+            this.failureRate = failureRate;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public Uni<BigDecimal> getExchangeRate(ExchangeRequest request, Deadline deadline) {
+            Uni<BigDecimal> call = Uni.createFrom().deferred(() ->
+                    ThreadLocalRandom.current().nextDouble() < failureRate
+                            ? Uni.createFrom().failure(new IllegalStateException(name + " failed"))
+                            : Uni.createFrom().item(rate));
+            return latency.isZero() ? call : call.onItem().delayIt().by(latency);
+        }
+    }
+}
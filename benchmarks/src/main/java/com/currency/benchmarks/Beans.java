@@ -0,0 +1,24 @@
+package com.currency.benchmarks;
+
+import java.lang.reflect.Field;
+
+/**
+ * Wires the package-private injection points of the service beans so they can be
+ * benchmarked without starting Quarkus.
+ */
+final class Beans {
+
+    private Beans() {
+    }
+
+    static <T> T inject(T bean, String field, Object value) {
+        try {
+            Field target = bean.getClass().getDeclaredField(field);
+            target.setAccessible(true);
+            target.set(bean, value);
+            return bean;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot inject " + field + " into " + bean.getClass().getSimpleName(), e);
+        }
+    }
+}
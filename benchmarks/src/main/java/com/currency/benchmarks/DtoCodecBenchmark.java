@@ -0,0 +1,73 @@
+package com.currency.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.currency.dto.Api3Response;
+import com.currency.dto.request.ExchangeRequest;
+import com.currency.dto.response.ExchangeResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Jackson (de)serialization of the JSON payloads on the request path: the public
+ * request and response and the API3 provider response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoCodecBenchmark {
+
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private ObjectReader api3Reader;
+
+    private String requestJson;
+    private ExchangeResponse response;
+    private String api3Json;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+        requestReader = mapper.readerFor(ExchangeRequest.class);
+        responseWriter = mapper.writerFor(ExchangeResponse.class);
+        api3Reader = mapper.readerFor(Api3Response.class);
+
+        requestJson = "{\"sourceCurrency\":\"USD\",\"targetCurrency\":\"EUR\",\"amount\":100.00}";
+        response = new ExchangeResponse("API2", new BigDecimal("0.86"), new BigDecimal("86.00"), 42L,
+                List.of("API1", "API2", "API3"), List.of(), List.of(), null, false, null);
+        api3Json = "{\"statusCode\":200,\"message\":\"OK\",\"data\":{\"total\":86.00}}";
+    }
+
+    @Benchmark
+    public ExchangeRequest readRequest() throws JsonProcessingException {
+        return requestReader.readValue(requestJson);
+    }
+
+    @Benchmark
+    public String writeResponse() throws JsonProcessingException {
+        return responseWriter.writeValueAsString(response);
+    }
+
+    @Benchmark
+    public Api3Response readApi3Response() throws JsonProcessingException {
+        return api3Reader.readValue(api3Json);
+    }
+}
@@ -0,0 +1,66 @@
+package com.currency.benchmarks;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.currency.services.contracts.QuoteType;
+import com.currency.utils.FixedPoint;
+
+/**
+ * BigDecimal arithmetic applied to every provider answer: scaling the unit rate to
+ * the requested amount, on BigDecimal and on fixed-point longs, and turning a total
+ * quote back into a unit rate. Run with {@code -prof gc} to compare allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MonetaryScalingBenchmark {
+
+    @Param({ "100.00", "123456789.12" })
+    String amount;
+
+    @Param({ "0.86", "0.8612345678" })
+    String rate;
+
+    private BigDecimal requestAmount;
+    private BigDecimal unitRate;
+    private BigDecimal total;
+
+    @Setup
+    public void setUp() {
+        requestAmount = new BigDecimal(amount);
+        unitRate = new BigDecimal(rate);
+        total = requestAmount.multiply(unitRate);
+    }
+
+    @Benchmark
+    public BigDecimal convertAmount() {
+        return requestAmount.multiply(unitRate).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public BigDecimal convertAmountFixedPoint() {
+        return FixedPoint.multiply(requestAmount, unitRate, 2);
+    }
+
+    @Benchmark
+    public BigDecimal totalToUnitRate() {
+        return QuoteType.TOTAL.toRate(total, requestAmount);
+    }
+}
@@ -0,0 +1,106 @@
+package com.currency.benchmarks;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.currency.utils.XmlUtils;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Compares the pooled {@link XmlUtils} codec with the previous implementation,
+ * which built a new JAXBContext and pretty-printed the output on every call.
+ * JAXB cannot bind records, so the API2 payloads are mirrored by plain classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XmlCodecBenchmark {
+
+    private ExchangeRequestXml request;
+    private String responseXml;
+
+    @Setup
+    public void setUp() throws JAXBException {
+        request = new ExchangeRequestXml("USD", "EUR", new BigDecimal("100.00"));
+        responseXml = "<exchangeResponse><Result>0.86</Result></exchangeResponse>";
+        XmlUtils.preload(ExchangeRequestXml.class, ExchangeResponseXml.class);
+    }
+
+    @Benchmark
+    public String marshalLegacy() throws JAXBException {
+        JAXBContext context = JAXBContext.newInstance(ExchangeRequestXml.class);
+        Marshaller marshaller = context.createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+        StringWriter writer = new StringWriter();
+        marshaller.marshal(request, writer);
+        return writer.toString();
+    }
+
+    @Benchmark
+    public String marshalPooled() throws JAXBException {
+        return XmlUtils.objectToXml(request, ExchangeRequestXml.class);
+    }
+
+    @Benchmark
+    public Object unmarshalLegacy() throws JAXBException {
+        JAXBContext context = JAXBContext.newInstance(ExchangeResponseXml.class);
+        return context.createUnmarshaller().unmarshal(new StringReader(responseXml));
+    }
+
+    @Benchmark
+    public ExchangeResponseXml unmarshalPooled() throws JAXBException {
+        return XmlUtils.xmlToObject(responseXml, ExchangeResponseXml.class);
+    }
+
+    @XmlRootElement(name = "exchangeRequest")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class ExchangeRequestXml {
+        @XmlElement(name = "From")
+        String from;
+
+        @XmlElement(name = "To")
+        String to;
+
+        @XmlElement(name = "Amount")
+        BigDecimal amount;
+
+        public ExchangeRequestXml() {
+        }
+
+        ExchangeRequestXml(String from, String to, BigDecimal amount) {
+            this.from = from;
+            this.to = to;
+            this.amount = amount;
+        }
+    }
+
+    @XmlRootElement(name = "exchangeResponse")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class ExchangeResponseXml {
+        @XmlElement(name = "Result")
+        BigDecimal result;
+    }
+}
@@ -0,0 +1,125 @@
+package com.currency.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Open-model arrival process: the times at which requests are due, independent of
+ * how fast the service answers the previous ones. Times are nanoseconds from the
+ * start of the run.
+ */
+public interface ArrivalSchedule {
+
+    /**
+     * Intended start of the next request, or {@code -1} once the run is over.
+     */
+    long next();
+
+    /**
+     * Requests per second on average over the whole run.
+     */
+    double meanRate();
+
+    /**
+     * Evenly spaced arrivals.
+     */
+    static ArrivalSchedule constant(double rate, Duration duration) {
+        return stepped(List.of(new Step(rate, duration)), false, 0);
+    }
+
+    /**
+     * Arrivals with exponentially distributed gaps, the arrival pattern of many
+     * independent clients.
+     */
+    static ArrivalSchedule poisson(double rate, Duration duration, long seed) {
+        return stepped(List.of(new Step(rate, duration)), true, seed);
+    }
+
+    /**
+     * Consecutive steps of constant or Poisson arrivals, each with its own rate.
+     */
+    static ArrivalSchedule stepped(List<Step> steps, boolean poisson, long seed) {
+        return new Stepped(steps, poisson, new Random(seed));
+    }
+
+    /**
+     * Parses steps written as {@code rate x duration}, comma separated, for example
+     * {@code 50x30s,100x30s,200x1m}.
+     */
+    static List<Step> parseSteps(String spec) {
+        List<Step> steps = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] rateAndDuration = part.trim().split("x", 2);
+            if (rateAndDuration.length != 2) {
+                throw new IllegalArgumentException("Step must be written as <rate>x<duration>: " + part);
+            }
+            steps.add(new Step(Double.parseDouble(rateAndDuration[0].trim()), LoadTest.parseDuration(rateAndDuration[1].trim())));
+        }
+        return steps;
+    }
+
+    /**
+     * @param rate     requests per second during the step
+     * @param duration length of the step
+     */
+    record Step(double rate, Duration duration) {
+        public Step {
+            if (rate <= 0 || !duration.isPositive()) {
+                throw new IllegalArgumentException("Step needs a positive rate and duration");
+            }
+        }
+    }
+
+    final class Stepped implements ArrivalSchedule {
+        private final List<Step> steps;
+        private final boolean poisson;
+        private final Random random;
+        private int step;
+        private long stepStart;
+        private double offset;
+
+        Stepped(List<Step> steps, boolean poisson, Random random) {
+            if (steps.isEmpty()) {
+                throw new IllegalArgumentException("At least one step is required");
+            }
+            this.steps = List.copyOf(steps);
+            this.poisson = poisson;
+            this.random = random;
+        }
+
+        @Override
+        public long next() {
+            while (step < steps.size()) {
+                Step current = steps.get(step);
+                double gap = 1_000_000_000.0 / current.rate();
+                if (poisson) {
+                    gap *= -Math.log(1 - random.nextDouble());
+                }
+                long stepEnd = stepStart + current.duration().toNanos();
+                long at = stepStart + (long) offset;
+                if (at < stepEnd) {
+                    offset += gap;
+                    return at;
+                }
+                // Arrivals of the next step start where this one ends
+                step++;
+                stepStart = stepEnd;
+                offset = 0;
+            }
+            return -1;
+        }
+
+        @Override
+        public double meanRate() {
+            double requests = 0;
+            long nanos = 0;
+            for (Step s : steps) {
+                requests += s.rate() * s.duration().toNanos() / 1_000_000_000.0;
+                nanos += s.duration().toNanos();
+            }
+            return requests * 1_000_000_000.0 / nanos;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.currency.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Sends the logged requests at the times the arrival schedule dictates, without
+ * waiting for earlier answers. Latency is taken from the intended start of each
+ * request rather than from when it was actually sent, so a stalled service or a
+ * generator that falls behind shows up in the percentiles instead of silently
+ * lowering the request rate (coordinated omission). The latency from the actual
+ * send is kept alongside for comparison.
+ *
+ * <p>At most {@code maxInflight} requests are outstanding; beyond that the next
+ * request is sent late, and the delay counts against its latency.
+ */
+public final class LoadGenerator {
+
+    static final String TIMEOUT = "timeout";
+    static final String ERROR = "error";
+
+    private final HttpClient client;
+    private final URI uri;
+    private final RequestLog log;
+    private final int maxInflight;
+    private final Duration requestTimeout;
+    private final Optional<Duration> deadline;
+    private final Optional<String> token;
+
+    private final Histogram corrected = new ConcurrentHistogram(3);
+    private final Histogram uncorrected = new ConcurrentHistogram(3);
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final LongAdder succeeded = new LongAdder();
+    private final AtomicLong lastCompletion = new AtomicLong();
+
+    public LoadGenerator(HttpClient client, URI uri, RequestLog log, int maxInflight, Duration requestTimeout,
+            Optional<Duration> deadline, Optional<String> token) {
+        this.client = client;
+        this.uri = uri;
+        this.log = log;
+        this.maxInflight = maxInflight;
+        this.requestTimeout = requestTimeout;
+        this.deadline = deadline;
+        this.token = token;
+    }
+
+    /**
+     * Runs the schedule and waits for the last answer. Requests due within the warmup
+     * are sent but left out of the results.
+     */
+    public Results run(ArrivalSchedule schedule, Duration warmup) throws InterruptedException {
+        Semaphore inflight = new Semaphore(maxInflight);
+        long warmupNanos = warmup.toNanos();
+        long index = 0;
+        long sent = 0;
+        long maxLagNanos = 0;
+        long start = System.nanoTime();
+        lastCompletion.set(start + warmupNanos);
+
+        long intended;
+        while ((intended = schedule.next()) >= 0) {
+            long due = start + intended;
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inflight.acquire();
+
+            long sentAt = System.nanoTime();
+            boolean measured = intended >= warmupNanos;
+            if (measured) {
+                maxLagNanos = Math.max(maxLagNanos, sentAt - due);
+                sent++;
+            }
+            client.sendAsync(request(log.body(index++)), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        long done = System.nanoTime();
+                        try {
+                            if (measured) {
+                                record(due, sentAt, done, response, failure);
+                            }
+                        } finally {
+                            inflight.release();
+                        }
+                    });
+        }
+
+        // Every permit back means every answer is in
+        inflight.acquire(maxInflight);
+        long measuredNanos = Math.max(1, lastCompletion.get() - (start + warmupNanos));
+        return new Results(sent, succeeded.sum(), snapshotOutcomes(), corrected, uncorrected,
+                Duration.ofNanos(measuredNanos), Duration.ofNanos(maxLagNanos));
+    }
+
+    private HttpRequest request(byte[] body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        deadline.ifPresent(d -> builder.header("X-Request-Timeout", Long.toString(d.toMillis())));
+        token.ifPresent(t -> builder.header("Authorization", "Bearer " + t));
+        return builder.build();
+    }
+
+    private void record(long due, long sentAt, long done, HttpResponse<?> response, Throwable failure) {
+        corrected.recordValue(TimeUnit.NANOSECONDS.toMicros(done - due));
+        uncorrected.recordValue(TimeUnit.NANOSECONDS.toMicros(done - sentAt));
+        lastCompletion.accumulateAndGet(done, Math::max);
+
+        String outcome;
+        if (failure != null) {
+            outcome = rootCause(failure) instanceof HttpTimeoutException ? TIMEOUT : ERROR;
+        } else {
+            outcome = Integer.toString(response.statusCode());
+            if (response.statusCode() / 100 == 2) {
+                succeeded.increment();
+            }
+        }
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        Throwable cause = failure;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private Map<String, Long> snapshotOutcomes() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> snapshot.put(outcome, count.sum()));
+        return snapshot;
+    }
+
+    /**
+     * @param sent      requests sent after the warmup
+     * @param succeeded requests answered with a 2xx status
+     * @param outcomes  answers per HTTP status, plus {@code timeout} and {@code error}
+     *                  for requests without one
+     * @param corrected latency in microseconds from the intended start
+     * @param uncorrected latency in microseconds from the actual send
+     * @param elapsed   from the end of the warmup to the last answer
+     * @param maxLag    longest delay between the intended start of a request and its send
+     */
+    public record Results(long sent, long succeeded, Map<String, Long> outcomes, Histogram corrected,
+            Histogram uncorrected, Duration elapsed, Duration maxLag) {
+    }
+}
@@ -0,0 +1,110 @@
+package com.currency.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Outcome of a run in a form that can be saved and compared with the run of another
+ * build. Latencies are in milliseconds.
+ *
+ * @param startedAt   when the run started, ISO-8601
+ * @param target      URL under load
+ * @param arrival     arrival model and its parameters
+ * @param targetRate  mean requests per second the schedule asked for
+ * @param sent        requests sent after the warmup
+ * @param succeeded   requests answered with a 2xx status
+ * @param outcomes    answers per HTTP status, plus {@code timeout} and {@code error}
+ * @param elapsedMs   from the end of the warmup to the last answer
+ * @param throughput  2xx answers per second
+ * @param maxLagMs    longest delay of a send behind its schedule
+ * @param latency     latency from the intended start, corrected for coordinated omission
+ * @param serviceTime latency from the actual send, as a closed-loop tool would report it
+ */
+public record LoadReport(String startedAt, String target, String arrival, double targetRate, long sent,
+        long succeeded, Map<String, Long> outcomes, long elapsedMs, double throughput, double maxLagMs,
+        Latency latency, Latency serviceTime) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    public record Latency(double p50, double p90, double p99, double p999, double max, double mean) {
+
+        static Latency of(Histogram micros) {
+            return new Latency(
+                    millis(micros.getValueAtPercentile(50)),
+                    millis(micros.getValueAtPercentile(90)),
+                    millis(micros.getValueAtPercentile(99)),
+                    millis(micros.getValueAtPercentile(99.9)),
+                    millis(micros.getMaxValue()),
+                    micros.getMean() / 1000.0);
+        }
+    }
+
+    public static LoadReport of(Instant startedAt, String target, String arrival, double targetRate,
+            LoadGenerator.Results results) {
+        double seconds = results.elapsed().toNanos() / 1_000_000_000.0;
+        return new LoadReport(startedAt.toString(), target, arrival, targetRate, results.sent(), results.succeeded(),
+                results.outcomes(), results.elapsed().toMillis(), results.succeeded() / seconds,
+                results.maxLag().toNanos() / 1_000_000.0,
+                Latency.of(results.corrected()), Latency.of(results.uncorrected()));
+    }
+
+    public static LoadReport read(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), LoadReport.class);
+    }
+
+    public void write(Path file) throws IOException {
+        MAPPER.writeValue(file.toFile(), this);
+    }
+
+    public void print(PrintStream out) {
+        out.printf("Target      %s%n", target);
+        out.printf("Arrival     %s, %.1f req/s%n", arrival, targetRate);
+        out.printf("Sent        %d in %.1f s, %d succeeded, %.1f req/s%n", sent, elapsedMs / 1000.0, succeeded, throughput);
+        out.printf("Outcomes    %s%n", outcomes);
+        out.printf("Max lag     %.1f ms%n", maxLagMs);
+        out.printf("%-12s %9s %9s %9s %9s %9s %9s%n", "Latency ms", "p50", "p90", "p99", "p99.9", "max", "mean");
+        printLatency(out, "corrected", latency);
+        printLatency(out, "service", serviceTime);
+    }
+
+    /**
+     * Prints this run next to a baseline run, with the relative change of each figure.
+     */
+    public void compare(LoadReport baseline, PrintStream out) {
+        out.printf("%-18s %12s %12s %9s%n", "", "baseline", "current", "change");
+        printChange(out, "throughput req/s", baseline.throughput, throughput);
+        printChange(out, "success ratio", ratio(baseline.succeeded, baseline.sent), ratio(succeeded, sent));
+        printChange(out, "p50 ms", baseline.latency.p50(), latency.p50());
+        printChange(out, "p90 ms", baseline.latency.p90(), latency.p90());
+        printChange(out, "p99 ms", baseline.latency.p99(), latency.p99());
+        printChange(out, "p99.9 ms", baseline.latency.p999(), latency.p999());
+        printChange(out, "max ms", baseline.latency.max(), latency.max());
+    }
+
+    private static void printLatency(PrintStream out, String label, Latency latency) {
+        out.printf("%-12s %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n", label,
+                latency.p50(), latency.p90(), latency.p99(), latency.p999(), latency.max(), latency.mean());
+    }
+
+    private static void printChange(PrintStream out, String label, double before, double after) {
+        String change = before == 0 ? "n/a" : String.format("%+.1f%%", (after - before) * 100 / before);
+        out.printf("%-18s %12.2f %12.2f %9s%n", label, before, after, change);
+    }
+
+    private static double ratio(long part, long whole) {
+        return whole == 0 ? 0 : (double) part / whole;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,170 @@
+package com.currency.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Replays logged exchange requests against {@code /api/v1/exchange/best-rate} under
+ * an open-model arrival rate and reports throughput and latency percentiles.
+ *
+ * <pre>
+ * java -jar target/loadtest.jar --requests=requests.jsonl --arrival=poisson --rate=200 --duration=2m
+ * </pre>
+ *
+ * Options, all written as {@code --name=value}:
+ * <ul>
+ * <li>{@code requests}: JSON lines file of exchange requests or trace dump, required</li>
+ * <li>{@code url}: base URL of the service, {@code http://localhost:8080}</li>
+ * <li>{@code arrival}: {@code constant}, {@code poisson} or {@code stepped}, {@code constant}</li>
+ * <li>{@code rate}: requests per second for constant and Poisson arrivals, {@code 100}</li>
+ * <li>{@code duration}: length of constant and Poisson runs, {@code 60s}</li>
+ * <li>{@code steps}: rates of a stepped run, such as {@code 50x30s,100x30s}; Poisson
+ * gaps within each step with {@code --poisson=true}</li>
+ * <li>{@code warmup}: leading part of the run left out of the results, {@code 0s}</li>
+ * <li>{@code max-inflight}: outstanding requests before sends are delayed, {@code 1000}</li>
+ * <li>{@code timeout}: client timeout per request, {@code 10s}</li>
+ * <li>{@code deadline}: value of the {@code X-Request-Timeout} header, none by default</li>
+ * <li>{@code token}: bearer token sent with every request</li>
+ * <li>{@code seed}: seed of the Poisson arrivals, {@code 42}</li>
+ * <li>{@code report}: JSON report to write, {@code loadtest-report.json}</li>
+ * <li>{@code hgrm}: file for the full corrected latency distribution in HdrHistogram format</li>
+ * <li>{@code baseline}: earlier JSON report to compare this run with</li>
+ * </ul>
+ */
+public final class LoadTest {
+
+    private static final String ENDPOINT = "/api/v1/exchange/best-rate";
+
+    private static final Set<String> OPTIONS = Set.of("requests", "url", "arrival", "rate", "duration", "steps",
+            "poisson", "warmup", "max-inflight", "timeout", "deadline", "token", "seed", "report", "hgrm", "baseline");
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        try {
+            run(parseOptions(args));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    private static void run(Map<String, String> options) throws IOException, InterruptedException {
+        RequestLog log = RequestLog.read(Path.of(required(options, "requests")));
+        System.out.printf("Loaded %d requests, skipped %d lines%n", log.size(), log.skipped());
+
+        String arrival = options.getOrDefault("arrival", "constant");
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        ArrivalSchedule schedule;
+        String description;
+        switch (arrival) {
+            case "constant", "poisson" -> {
+                double rate = Double.parseDouble(options.getOrDefault("rate", "100"));
+                String duration = options.getOrDefault("duration", "60s");
+                schedule = arrival.equals("poisson")
+                        ? ArrivalSchedule.poisson(rate, parseDuration(duration), seed)
+                        : ArrivalSchedule.constant(rate, parseDuration(duration));
+                description = arrival + " " + rate + "/s for " + duration;
+            }
+            case "stepped" -> {
+                String steps = required(options, "steps");
+                boolean poisson = Boolean.parseBoolean(options.getOrDefault("poisson", "false"));
+                schedule = ArrivalSchedule.stepped(ArrivalSchedule.parseSteps(steps), poisson, seed);
+                description = "stepped " + steps + (poisson ? " poisson" : "");
+            }
+            default -> throw new IllegalArgumentException("Unknown arrival model: " + arrival);
+        }
+
+        URI target = URI.create(options.getOrDefault("url", "http://localhost:8080") + ENDPOINT);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        LoadGenerator generator = new LoadGenerator(client, target, log,
+                Integer.parseInt(options.getOrDefault("max-inflight", "1000")),
+                parseDuration(options.getOrDefault("timeout", "10s")),
+                Optional.ofNullable(options.get("deadline")).map(LoadTest::parseDuration),
+                Optional.ofNullable(options.get("token")));
+
+        System.out.printf("Replaying against %s, %s%n", target, description);
+        Instant startedAt = Instant.now();
+        LoadGenerator.Results results = generator.run(schedule, parseDuration(options.getOrDefault("warmup", "0s")));
+        LoadReport report = LoadReport.of(startedAt, target.toString(), description, schedule.meanRate(), results);
+
+        System.out.println();
+        report.print(System.out);
+        Path reportFile = Path.of(options.getOrDefault("report", "loadtest-report.json"));
+        report.write(reportFile);
+        System.out.printf("%nReport written to %s%n", reportFile);
+
+        if (options.containsKey("hgrm")) {
+            writeDistribution(results, Path.of(options.get("hgrm")));
+        }
+        if (options.containsKey("baseline")) {
+            System.out.println();
+            report.compare(LoadReport.read(Path.of(options.get("baseline"))), System.out);
+        }
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Options are written as --name=value: " + arg);
+            }
+            String name = arg.substring(2, equals);
+            if (!OPTIONS.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + ", expected one of " + OPTIONS);
+            }
+            options.put(name, arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Parses durations such as {@code 500ms}, {@code 30s}, {@code 2m} or {@code 1h}.
+     */
+    static Duration parseDuration(String value) {
+        for (String unit : List.of("ms", "s", "m", "h")) {
+            if (value.endsWith(unit)) {
+                long amount = Long.parseLong(value.substring(0, value.length() - unit.length()).trim());
+                return switch (unit) {
+                    case "ms" -> Duration.ofMillis(amount);
+                    case "s" -> Duration.ofSeconds(amount);
+                    case "m" -> Duration.ofMinutes(amount);
+                    default -> Duration.ofHours(amount);
+                };
+            }
+        }
+        throw new IllegalArgumentException("Duration needs a unit of ms, s, m or h: " + value);
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing required option --" + name);
+        }
+        return value;
+    }
+
+    // Values are recorded in microseconds, the distribution is written in milliseconds
+    private static void writeDistribution(LoadGenerator.Results results, Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            results.corrected().outputPercentileDistribution(out, 1000.0);
+        }
+        System.out.printf("Latency distribution written to %s%n", file);
+    }
+}
@@ -0,0 +1,88 @@
+package com.currency.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Request bodies to replay, read from a JSON lines file. Each line is an
+ * {@code ExchangeRequest}; lines of a trace dump, written by
+ * {@code POST /q/traces/dump} on the service's management port (9000), are
+ * accepted as well, with an amount of 1 since traces do not record it. Lines
+ * without a currency pair are skipped.
+ */
+public final class RequestLog {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final List<byte[]> bodies;
+    private final int skipped;
+
+    private RequestLog(List<byte[]> bodies, int skipped) {
+        this.bodies = bodies;
+        this.skipped = skipped;
+    }
+
+    public static RequestLog read(Path file) throws IOException {
+        List<byte[]> bodies = new ArrayList<>();
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                byte[] body = toBody(line);
+                if (body == null) {
+                    skipped++;
+                } else {
+                    bodies.add(body);
+                }
+            }
+        }
+        if (bodies.isEmpty()) {
+            throw new IllegalArgumentException("No exchange requests found in " + file);
+        }
+        return new RequestLog(List.copyOf(bodies), skipped);
+    }
+
+    static byte[] toBody(String line) {
+        try {
+            JsonNode node = MAPPER.readTree(line);
+            if (!node.hasNonNull("sourceCurrency") || !node.hasNonNull("targetCurrency")) {
+                return null;
+            }
+            ObjectNode request = MAPPER.createObjectNode();
+            request.put("sourceCurrency", node.get("sourceCurrency").asText());
+            request.put("targetCurrency", node.get("targetCurrency").asText());
+            request.put("amount", node.hasNonNull("amount") ? node.get("amount").decimalValue() : BigDecimal.ONE);
+            return MAPPER.writeValueAsBytes(request);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Body of the {@code index}-th request, the log is replayed in a loop.
+     */
+    public byte[] body(long index) {
+        return bodies.get((int) (index % bodies.size()));
+    }
+
+    public int size() {
+        return bodies.size();
+    }
+
+    public int skipped() {
+        return skipped;
+    }
+}
@@ -0,0 +1,52 @@
+package com.currency.loadtest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ArrivalScheduleTest {
+
+    private static List<Long> drain(ArrivalSchedule schedule) {
+        List<Long> arrivals = new ArrayList<>();
+        long at;
+        while ((at = schedule.next()) >= 0) {
+            arrivals.add(at);
+        }
+        return arrivals;
+    }
+
+    @Test
+    void testConstantArrivalsAreEvenlySpaced() {
+        List<Long> arrivals = drain(ArrivalSchedule.constant(10, Duration.ofSeconds(1)));
+
+        assertEquals(10, arrivals.size());
+        assertEquals(0L, arrivals.get(0));
+        assertEquals(100_000_000L, arrivals.get(1));
+        assertEquals(900_000_000L, arrivals.get(9));
+    }
+
+    @Test
+    void testPoissonArrivalsKeepTheMeanRate() {
+        List<Long> arrivals = drain(ArrivalSchedule.poisson(1000, Duration.ofSeconds(10), 7));
+
+        assertEquals(10_000, arrivals.size(), 300);
+        for (int i = 1; i < arrivals.size(); i++) {
+            assertTrue(arrivals.get(i) >= arrivals.get(i - 1));
+        }
+    }
+
+    @Test
+    void testSteppedArrivalsFollowEachStep() {
+        ArrivalSchedule schedule = ArrivalSchedule.stepped(ArrivalSchedule.parseSteps("10x1s,20x500ms"), false, 0);
+        List<Long> arrivals = drain(schedule);
+
+        assertEquals(20, arrivals.size());
+        assertEquals(1_000_000_000L, arrivals.get(10));
+        assertEquals(1_050_000_000L, arrivals.get(11));
+        assertEquals(13.33, schedule.meanRate(), 0.01);
+    }
+}
@@ -1,5 +1,7 @@
 package com.currency.api.client;
 
+import java.util.List;
+
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 
 import com.currency.dto.Api1Request;
@@ -20,4 +22,13 @@ public interface Api1Client {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     Uni<Api1Response> getRate(Api1Request request);
+
+    /**
+     * Quotes several pairs in one call, answering in request order.
+     */
+    @POST
+    @Path("/rates/batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    Uni<List<Api1Response>> getRates(List<Api1Request> requests);
 }
\ No newline at end of file
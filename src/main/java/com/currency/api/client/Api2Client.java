@@ -1,6 +1,10 @@
 package com.currency.api.client;
+import org.eclipse.microprofile.rest.client.annotation.RegisterProvider;
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 
+import com.currency.api.client.codec.Api2RequestWriter;
+import com.currency.dto.Api2Request;
+
 import io.smallrye.mutiny.Uni;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.Consumes;
@@ -9,11 +13,17 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.core.MediaType;
 
 @RegisterRestClient(configKey = "exchange-api2")
+@RegisterProvider(Api2RequestWriter.class)
 @Path("/xml-api")
 public interface Api2Client {
+    /**
+     * Raw XML document of the answer, decoded by the provider with
+     * {@link com.currency.api.client.codec.Api2ResponseDecoder} where it sees fit
+     * rather than on the I/O thread that received it.
+     */
     @POST
     @Path("/convert")
     @Consumes(MediaType.APPLICATION_XML)
     @Produces(MediaType.APPLICATION_XML)
-    Uni<String> getRate(String xmlRequest);
-}
\ No newline at end of file
+    Uni<byte[]> getRate(Api2Request request);
+}
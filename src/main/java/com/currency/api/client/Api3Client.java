@@ -1,5 +1,7 @@
 package com.currency.api.client;
 
+import java.util.List;
+
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 
 import com.currency.dto.Api3Request;
@@ -21,4 +23,13 @@ public interface Api3Client {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     Uni<Api3Response> getRate(Api3Request request);
+
+    /**
+     * Quotes several pairs in one call, answering in request order.
+     */
+    @POST
+    @Path("/exchange/batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    Uni<List<Api3Response>> getRates(List<Api3Request> requests);
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.currency.api.client.codec;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import com.currency.dto.Api2Request;
+import com.currency.jfr.XmlCodecEvent;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+
+/**
+ * Streams {@link Api2Request} as XML straight into the request body using its
+ * Jackson-XML annotations, without building the document as a String first. The
+ * bytes written are only counted while {@link XmlCodecEvent} is being recorded.
+ */
+@Produces(MediaType.APPLICATION_XML)
+public class Api2RequestWriter implements MessageBodyWriter<Api2Request> {
+
+    private static final ObjectWriter WRITER = XmlMapper.builder()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .build()
+            .writerFor(Api2Request.class);
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return Api2Request.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public void writeTo(Api2Request request, Class<?> type, Type genericType, Annotation[] annotations,
+            MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream)
+            throws IOException {
+        XmlCodecEvent event = new XmlCodecEvent();
+        if (!event.isEnabled()) {
+            WRITER.writeValue(entityStream, request);
+            return;
+        }
+        CountingOutputStream counting = new CountingOutputStream(entityStream);
+        event.begin();
+        WRITER.writeValue(counting, request);
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = XmlCodecEvent.MARSHAL;
+            event.type = Api2Request.class;
+            event.bytes = counting.count;
+            event.commit();
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.currency.api.client.codec;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.currency.dto.Api2Response;
+import com.currency.jfr.XmlCodecEvent;
+
+import jakarta.ws.rs.ProcessingException;
+
+/**
+ * Pulls the {@code Result} element out of the API2 response with a StAX cursor,
+ * stopping as soon as it is found instead of materializing the whole document. The
+ * bytes read are only counted while {@link XmlCodecEvent} is being recorded. Not a
+ * client provider: the API2 provider calls {@link #decode(InputStream)} on the raw
+ * response body, so it can pick the thread the parsing runs on.
+ */
+public class Api2ResponseDecoder {
+
+    private static final String RESULT_ELEMENT = "Result";
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    public Api2Response decode(InputStream entityStream) throws IOException {
+        XmlCodecEvent event = new XmlCodecEvent();
+        if (!event.isEnabled()) {
+            return read(entityStream);
+        }
+        CountingInputStream counting = new CountingInputStream(entityStream);
+        event.begin();
+        Api2Response response = read(counting);
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = XmlCodecEvent.UNMARSHAL;
+            event.type = Api2Response.class;
+            event.bytes = counting.count;
+            event.commit();
+        }
+        return response;
+    }
+
+    private Api2Response read(InputStream entityStream) {
+        XMLStreamReader reader = null;
+        try {
+            reader = INPUT_FACTORY.createXMLStreamReader(entityStream);
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT
+                        && RESULT_ELEMENT.equalsIgnoreCase(reader.getLocalName())) {
+                    String text = reader.getElementText().trim();
+                    return new Api2Response(text.isEmpty() ? null : new BigDecimal(text));
+                }
+            }
+            return new Api2Response(null);
+
+        } catch (XMLStreamException | NumberFormatException e) {
+            throw new ProcessingException("Failed to read API2 response", e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // Nothing left to release, the entity stream is owned by the client
+                }
+            }
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        return factory;
+    }
+}
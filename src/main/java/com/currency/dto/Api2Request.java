@@ -3,11 +3,13 @@ package com.currency.dto;
 import java.math.BigDecimal;
 
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 import jakarta.xml.bind.annotation.XmlRootElement;
 
 @RegisterForReflection
 @XmlRootElement(name = "exchangeRequest")
+@JacksonXmlRootElement(localName = "exchangeRequest")
 public record Api2Request(
     @JacksonXmlProperty(localName = "From")
     String from,
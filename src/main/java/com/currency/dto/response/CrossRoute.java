@@ -0,0 +1,22 @@
+package com.currency.dto.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Chain of provider quotes leading from the source to the target currency, for
+ * example USD→EUR from API1 followed by EUR→DOP from API3.
+ */
+@RegisterForReflection
+public record CrossRoute(
+    List<String> currencies,
+    List<String> providers,
+    BigDecimal rate
+) {
+
+    public int hops() {
+        return providers.size();
+    }
+}
@@ -1,6 +1,8 @@
 package com.currency.dto.response;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
 
 import io.quarkus.runtime.annotations.RegisterForReflection;
 
@@ -9,5 +11,16 @@ public record ExchangeResponse(
     String provider,
     BigDecimal rate,
     BigDecimal convertedAmount,
-    long responseTimeMs
-) {}
\ No newline at end of file
+    long responseTimeMs,
+    List<String> respondedProviders,
+    List<String> cutOffProviders,
+    List<String> skippedProviders,
+    CrossRoute crossRoute,
+    boolean stale,
+    Instant quotedAt
+) {
+
+    public ExchangeResponse(String provider, BigDecimal rate, BigDecimal convertedAmount, long responseTimeMs) {
+        this(provider, rate, convertedAmount, responseTimeMs, List.of(), List.of(), List.of(), null, false, null);
+    }
+}
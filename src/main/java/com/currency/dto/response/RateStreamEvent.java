@@ -0,0 +1,15 @@
+package com.currency.dto.response;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+@RegisterForReflection
+public record RateStreamEvent(
+    String type,
+    ExchangeResponse data
+) {
+    /** A single provider's quote, emitted as soon as that provider answers. */
+    public static final String QUOTE = "quote";
+
+    /** The best quote of the aggregation, always the last event of the stream. */
+    public static final String BEST = "best";
+}
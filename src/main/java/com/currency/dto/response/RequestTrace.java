@@ -0,0 +1,45 @@
+package com.currency.dto.response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * What happened to one aggregated request: the provider calls it made, how each
+ * ended and how long it took, and which quote won.
+ */
+@RegisterForReflection
+public record RequestTrace(
+    Instant completedAt,
+    String sourceCurrency,
+    String targetCurrency,
+    String outcome,
+    String winner,
+    BigDecimal rate,
+    long totalMicros,
+    List<ProviderCall> providers,
+    List<String> skippedProviders
+) {
+    /** A provider answered with a valid rate. */
+    public static final String QUOTED = "quoted";
+
+    /** A provider answered with a missing or non-positive rate. */
+    public static final String INVALID = "invalid";
+
+    /** A provider call failed or timed out. */
+    public static final String FAILED = "failed";
+
+    /** The aggregation completed before the provider answered. */
+    public static final String CUT_OFF = "cut-off";
+
+    /** The request was answered with the best quote. */
+    public static final String ANSWERED = "answered";
+
+    /** No provider returned a valid rate. */
+    public static final String NO_VALID_RATE = "no-valid-rate";
+
+    @RegisterForReflection
+    public record ProviderCall(String provider, String outcome, long latencyMicros) {}
+}
@@ -0,0 +1,9 @@
+package com.currency.dto.response;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+@RegisterForReflection
+public record TraceDump(
+    String file,
+    int traces
+) {}
@@ -0,0 +1,21 @@
+package com.currency.exceptions;
+
+import java.time.Duration;
+
+public class OverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public OverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * How long the caller should wait before trying again.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.currency.exceptions;
+
+/**
+ * A provider call failed and the provider's fallback answered in its place, without
+ * a rate.
+ */
+public class ProviderFallbackException extends RuntimeException {
+
+    public ProviderFallbackException(String message) {
+        super(message);
+    }
+
+}
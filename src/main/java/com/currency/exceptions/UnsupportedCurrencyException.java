@@ -0,0 +1,9 @@
+package com.currency.exceptions;
+
+public class UnsupportedCurrencyException extends RuntimeException {
+
+    public UnsupportedCurrencyException(String message) {
+        super(message);
+    }
+
+}
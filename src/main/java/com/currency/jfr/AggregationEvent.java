@@ -0,0 +1,48 @@
+package com.currency.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Aggregation of one request, from the dispatch to the providers until the best
+ * quote is picked. The selection time is the part spent comparing the quotes, the
+ * rest of the duration is spent waiting for the providers.
+ */
+@Name("com.currency.Aggregation")
+@Label("Aggregation")
+@Description("Fan-out to the providers and selection of the best quote")
+@Category({ "Exchange Rate Service", "Aggregation" })
+@Enabled(false)
+@StackTrace(false)
+public class AggregationEvent extends Event {
+
+    @Label("Source Currency")
+    public String sourceCurrency;
+
+    @Label("Target Currency")
+    public String targetCurrency;
+
+    @Label("Providers")
+    @Description("Providers the request was dispatched to")
+    public int providers;
+
+    @Label("Quotes")
+    @Description("Valid quotes received in time")
+    public int quotes;
+
+    @Label("Winner")
+    public String winner;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Selection Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long selectionNanos;
+}
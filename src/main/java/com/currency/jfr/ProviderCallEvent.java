@@ -0,0 +1,38 @@
+package com.currency.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One attempt of an upstream provider call, from its subscription until it answers,
+ * fails, times out or is cancelled. Retries are separate events with a higher
+ * attempt number.
+ */
+@Name("com.currency.ProviderCall")
+@Label("Provider Call")
+@Description("Attempt of an upstream call to an exchange rate provider")
+@Category({ "Exchange Rate Service", "Providers" })
+@Enabled(false)
+@StackTrace(false)
+public class ProviderCallEvent extends Event {
+
+    public static final String SUCCESS = "success";
+    public static final String TIMEOUT = "timeout";
+    public static final String ERROR = "error";
+    public static final String CANCELLED = "cancelled";
+
+    @Label("Provider")
+    public String provider;
+
+    @Label("Attempt")
+    @Description("1 for the first call, 2 for the first retry and so on")
+    public int attempt;
+
+    @Label("Outcome")
+    public String outcome;
+}
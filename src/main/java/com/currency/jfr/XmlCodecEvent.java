@@ -0,0 +1,36 @@
+package com.currency.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Marshalling of a request body into XML or unmarshalling of a response out of it.
+ */
+@Name("com.currency.XmlCodec")
+@Label("XML Codec")
+@Description("XML marshalling or unmarshalling of a provider message")
+@Category({ "Exchange Rate Service", "XML" })
+@Enabled(false)
+@StackTrace(false)
+public class XmlCodecEvent extends Event {
+
+    public static final String MARSHAL = "marshal";
+    public static final String UNMARSHAL = "unmarshal";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Type")
+    public Class<?> type;
+
+    @Label("Size")
+    @Description("Bytes written or read")
+    @DataAmount
+    public long bytes;
+}
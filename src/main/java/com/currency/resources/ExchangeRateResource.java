@@ -1,64 +1,190 @@
 package com.currency.resources;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 import com.currency.dto.common.ErrorResponse;
 import com.currency.dto.request.ExchangeRequest;
 import com.currency.exceptions.NoValidRateException;
+import com.currency.exceptions.OverloadedException;
+import com.currency.exceptions.UnsupportedCurrencyException;
+import com.currency.services.contracts.IAdmissionController;
 import com.currency.services.contracts.IExchangeRateService;
+import com.currency.utils.Deadline;
 
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.TimeoutException;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
 
+/**
+ * Every endpoint accepts an {@value #REQUEST_TIMEOUT_HEADER} header with the time in
+ * milliseconds the caller is willing to wait, capped at {@code exchange.deadline.max}
+ * and defaulting to {@code exchange.deadline.default}. The resulting deadline bounds
+ * all provider calls made for the request. When the client disconnects the pending
+ * response is cancelled, which cancels the provider calls made only on its behalf.
+ */
 @Path("/api/v1/exchange")
 @ApplicationScoped
 public class ExchangeRateResource {
     
     private static final Logger LOG = Logger.getLogger(ExchangeRateResource.class);
     
+    private static final int MAX_BATCH_SIZE = 1000;
+    
+    static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout";
+    
+    @ConfigProperty(name = "exchange.deadline.default", defaultValue = "5S")
+    Duration defaultTimeout = Duration.ofSeconds(5);
+    
+    @ConfigProperty(name = "exchange.deadline.max", defaultValue = "30S")
+    Duration maxTimeout = Duration.ofSeconds(30);
+    
     @Inject
     IExchangeRateService exchangeRateService;
 
+    @Inject
+    IAdmissionController admissionController;
+
     @POST
     @Path("/best-rate")
-    public Uni<Response> getBestRate(@Valid ExchangeRequest request) {
-        LOG.infof("Processing exchange request: %s to %s amount %s", 
+    public Uni<Response> getBestRate(@Valid ExchangeRequest request,
+            @HeaderParam(REQUEST_TIMEOUT_HEADER) Long timeoutMillis) {
+        LOG.debugf("Processing exchange request: %s to %s amount %s", 
                  request.sourceCurrency(), request.targetCurrency(), request.amount());
         
-        return exchangeRateService.findBestExchangeRate(request)
+        Deadline deadline = deadlineFor(timeoutMillis);
+        return admissionController.admit(() -> exchangeRateService.findBestExchangeRate(request, deadline))
             .onItem().transform(response -> 
                 Response.ok(response).build()
             )
-            .onFailure().recoverWithItem(throwable -> {
-                if (throwable instanceof NoValidRateException) {
-                    return Response.status(Response.Status.BAD_REQUEST)
-                        .entity(new ErrorResponse(
-                            throwable.getMessage(), 
-                            Instant.now(), 
-                            "NO_VALID_RATE"
-                        )).type(MediaType.APPLICATION_JSON)
-                        .build();
-                }
-                LOG.error("Error processing exchange request", throwable);
-                return Response.serverError()
-                    .entity(new ErrorResponse(
-                        "Internal server error", 
-                        Instant.now(), 
-                        "INTERNAL_ERROR"
-                    ))
-                    .type(MediaType.APPLICATION_JSON)
-                    .build();
-            });
+            .onFailure().recoverWithItem(this::toErrorResponse);
+    }
+    
+    /**
+     * Resolves every request of the batch and answers in the same order. Pairs for
+     * which no provider returned a valid rate, or with an unsupported currency, are
+     * answered with {@code null}.
+     */
+    @POST
+    @Path("/best-rate/batch")
+    public Uni<Response> getBestRates(
+            @NotEmpty(message = "At least one exchange request is required")
+            @Size(max = MAX_BATCH_SIZE, message = "A batch cannot contain more than " + MAX_BATCH_SIZE + " requests")
+            List<@NotNull @Valid ExchangeRequest> requests,
+            @HeaderParam(REQUEST_TIMEOUT_HEADER) Long timeoutMillis) {
+        LOG.debugf("Processing batch exchange request with %d entries", requests.size());
+        
+        Deadline deadline = deadlineFor(timeoutMillis);
+        return admissionController.admit(() -> exchangeRateService.findBestExchangeRates(requests, deadline))
+            .onItem().transform(responses -> 
+                Response.ok(responses).build()
+            )
+            .onFailure().recoverWithItem(this::toErrorResponse);
     }
     
+    /**
+     * Streams the quotes as Server-Sent Events: one {@code quote} event per provider as
+     * soon as it answers, followed by a final {@code best} event. Failures are sent as
+     * an {@code error} event because the response status is already committed. The
+     * stream takes an admission slot like any other request and holds it until the
+     * stream ends or the client goes away.
+     */
+    @POST
+    @Path("/best-rate/stream")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public Multi<OutboundSseEvent> streamBestRate(@Valid ExchangeRequest request, @Context Sse sse,
+            @HeaderParam(REQUEST_TIMEOUT_HEADER) Long timeoutMillis) {
+        LOG.debugf("Streaming exchange request: %s to %s amount %s", 
+                 request.sourceCurrency(), request.targetCurrency(), request.amount());
+        
+        Deadline deadline = deadlineFor(timeoutMillis);
+        return admissionController.admitStream(() -> exchangeRateService.streamExchangeRates(request, deadline))
+            .onItem().transform(event -> sse.newEventBuilder()
+                .name(event.type())
+                .data(event.data())
+                .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                .build())
+            .onFailure().recoverWithItem(throwable -> sse.newEventBuilder()
+                .name("error")
+                .data(toErrorResponse(throwable).getEntity())
+                .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                .build());
+    }
+    
+    private Deadline deadlineFor(Long timeoutMillis) {
+        if (timeoutMillis == null || timeoutMillis <= 0) {
+            return Deadline.after(defaultTimeout);
+        }
+        Duration requested = Duration.ofMillis(timeoutMillis);
+        return Deadline.after(requested.compareTo(maxTimeout) < 0 ? requested : maxTimeout);
+    }
     
+    private Response toErrorResponse(Throwable throwable) {
+        if (throwable instanceof OverloadedException overloaded) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header("Retry-After", overloaded.getRetryAfter().toSeconds())
+                .entity(new ErrorResponse(
+                    throwable.getMessage(), 
+                    Instant.now(), 
+                    "OVERLOADED"
+                )).type(MediaType.APPLICATION_JSON)
+                .build();
+        }
+        if (throwable instanceof NoValidRateException) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(new ErrorResponse(
+                    throwable.getMessage(), 
+                    Instant.now(), 
+                    "NO_VALID_RATE"
+                )).type(MediaType.APPLICATION_JSON)
+                .build();
+        }
+        if (throwable instanceof UnsupportedCurrencyException) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(new ErrorResponse(
+                    throwable.getMessage(), 
+                    Instant.now(), 
+                    "UNSUPPORTED_CURRENCY"
+                )).type(MediaType.APPLICATION_JSON)
+                .build();
+        }
+        if (throwable instanceof TimeoutException) {
+            return Response.status(Response.Status.GATEWAY_TIMEOUT)
+                .entity(new ErrorResponse(
+                    "Request deadline exceeded", 
+                    Instant.now(), 
+                    "DEADLINE_EXCEEDED"
+                )).type(MediaType.APPLICATION_JSON)
+                .build();
+        }
+        LOG.error("Error processing exchange request", throwable);
+        return Response.serverError()
+            .entity(new ErrorResponse(
+                "Internal server error", 
+                Instant.now(), 
+                "INTERNAL_ERROR"
+            ))
+            .type(MediaType.APPLICATION_JSON)
+            .build();
+    }
     
-}
\ No newline at end of file
+}
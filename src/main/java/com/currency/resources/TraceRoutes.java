@@ -0,0 +1,124 @@
+package com.currency.resources;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.currency.dto.common.ErrorResponse;
+import com.currency.dto.response.RequestTrace;
+import com.currency.dto.response.TraceDump;
+import com.currency.services.contracts.IFlightRecorder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.quarkus.vertx.http.ManagementInterface;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+/**
+ * Read access to the flight recorder: the latest request traces, optionally filtered
+ * by pair and outcome, and a dump of every trace held to a JSON lines file.
+ * Served on the management interface next to health and metrics, never on the
+ * public API port.
+ */
+@ApplicationScoped
+public class TraceRoutes {
+
+    private static final Logger LOG = Logger.getLogger(TraceRoutes.class);
+
+    private static final int DEFAULT_LIMIT = 100;
+
+    @ConfigProperty(name = "quarkus.management.root-path", defaultValue = "/q")
+    String rootPath = "/q";
+
+    @ConfigProperty(name = "exchange.trace.dump-dir", defaultValue = "/tmp")
+    String dumpDir = "/tmp";
+
+    @Inject
+    IFlightRecorder flightRecorder;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    void register(@Observes ManagementInterface managementInterface) {
+        String path = rootPath.replaceAll("/+$", "") + "/traces";
+        managementInterface.router().get(path).handler(this::getTraces);
+        // Writing the file blocks, keep it off the event loop
+        managementInterface.router().post(path + "/dump").blockingHandler(this::dump);
+    }
+
+    void getTraces(RoutingContext context) {
+        int limit;
+        try {
+            String value = context.queryParams().get("limit");
+            limit = value == null ? DEFAULT_LIMIT : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            respond(context, 400, new ErrorResponse("Invalid limit", Instant.now(), "INVALID_LIMIT"));
+            return;
+        }
+        respond(context, 200, traces(limit,
+            context.queryParams().get("source"),
+            context.queryParams().get("target"),
+            context.queryParams().get("outcome")));
+    }
+
+    List<RequestTrace> traces(int limit, String sourceCurrency, String targetCurrency, String outcome) {
+        if (sourceCurrency == null && targetCurrency == null && outcome == null) {
+            return flightRecorder.recent(limit);
+        }
+        List<RequestTrace> matching = new ArrayList<>();
+        for (RequestTrace trace : flightRecorder.recent(Integer.MAX_VALUE)) {
+            if (matching.size() >= limit) {
+                break;
+            }
+            if ((sourceCurrency == null || sourceCurrency.equalsIgnoreCase(trace.sourceCurrency()))
+                    && (targetCurrency == null || targetCurrency.equalsIgnoreCase(trace.targetCurrency()))
+                    && (outcome == null || outcome.equals(trace.outcome()))) {
+                matching.add(trace);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Writes every trace currently held, newest first, to a new file in
+     * {@code exchange.trace.dump-dir}.
+     */
+    void dump(RoutingContext context) {
+        List<RequestTrace> traces = flightRecorder.recent(Integer.MAX_VALUE);
+        java.nio.file.Path file = Paths.get(dumpDir, "traces-" + Instant.now().toEpochMilli() + ".jsonl");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (RequestTrace trace : traces) {
+                writer.write(objectMapper.writeValueAsString(trace));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            LOG.errorf("Failed to dump traces to %s: %s", file, e.getMessage());
+            respond(context, 500, new ErrorResponse("Failed to dump traces", Instant.now(), "DUMP_FAILED"));
+            return;
+        }
+        LOG.infof("Dumped %d request traces to %s", traces.size(), file);
+        respond(context, 200, new TraceDump(file.toString(), traces.size()));
+    }
+
+    private void respond(RoutingContext context, int status, Object body) {
+        try {
+            context.response()
+                .setStatusCode(status)
+                .putHeader("Content-Type", "application/json")
+                .end(objectMapper.writeValueAsString(body));
+        } catch (JsonProcessingException e) {
+            context.fail(e);
+        }
+    }
+}
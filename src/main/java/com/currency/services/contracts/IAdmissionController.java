@@ -0,0 +1,21 @@
+package com.currency.services.contracts;
+
+import java.util.function.Supplier;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+
+public interface IAdmissionController {
+    /**
+     * Runs the request once it fits under the adaptive in-flight limit, queueing it
+     * for a bounded time otherwise. Requests that would wait longer than the queue
+     * budget fail with an {@link com.currency.exceptions.OverloadedException}.
+     */
+    <T> Uni<T> admit(Supplier<Uni<T>> work);
+
+    /**
+     * Admits a stream the same way, holding its slot until the stream completes,
+     * fails or is cancelled.
+     */
+    <T> Multi<T> admitStream(Supplier<Multi<T>> work);
+}
@@ -0,0 +1,21 @@
+package com.currency.services.contracts;
+
+import java.math.BigDecimal;
+
+import io.smallrye.mutiny.Uni;
+
+public interface IAggregationMetrics {
+
+    /**
+     * Counts the call as in flight to the provider from subscription until it ends,
+     * and times it by outcome once it does.
+     */
+    Uni<BigDecimal> trackCall(String provider, Uni<BigDecimal> call);
+
+    /**
+     * Records a completed aggregation: its duration, the winning provider and the
+     * spread between the best and worst valid quote. {@code winner} is {@code null}
+     * when no provider returned a valid rate.
+     */
+    void recordAggregation(long durationNanos, String winner, BigDecimal best, BigDecimal worst);
+}
@@ -0,0 +1,26 @@
+package com.currency.services.contracts;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.currency.dto.request.ExchangeRequest;
+import com.currency.utils.Deadline;
+
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Provider whose upstream can quote several pairs in one call.
+ */
+public interface IBatchExchangeProvider extends IExchangeProvider {
+
+    /**
+     * Whether multi-pair calls are enabled for this provider.
+     */
+    boolean supportsBatch();
+
+    /**
+     * Per-unit rates for the requests in the same order, {@code null} where the
+     * upstream had no valid rate.
+     */
+    Uni<List<BigDecimal>> getExchangeRates(List<ExchangeRequest> requests, Deadline deadline);
+}
@@ -0,0 +1,14 @@
+package com.currency.services.contracts;
+
+import java.util.function.Supplier;
+
+import io.smallrye.mutiny.Uni;
+
+public interface IConcurrencyLimiter {
+    /**
+     * Runs the call when the provider has room under its adaptive concurrency limit,
+     * otherwise fails right away with an
+     * {@link com.currency.exceptions.OverloadedException}.
+     */
+    <T> Uni<T> limit(String provider, Supplier<Uni<T>> call);
+}
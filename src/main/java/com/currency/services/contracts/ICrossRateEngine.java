@@ -0,0 +1,28 @@
+package com.currency.services.contracts;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import com.currency.dto.response.CrossRoute;
+
+public interface ICrossRateEngine {
+
+    /**
+     * Records a unit rate that a provider has just quoted for the pair.
+     */
+    void update(String provider, String sourceCurrency, String targetCurrency, BigDecimal rate);
+
+    /**
+     * Best chain of recent quotes from the source to the target currency, either the
+     * direct quote or a route through intermediate currencies.
+     */
+    Optional<CrossRoute> bestRoute(String sourceCurrency, String targetCurrency);
+
+    /**
+     * Remembers that no provider returned a valid quote for the pair, so that
+     * following requests can be answered from the graph without calling upstream.
+     */
+    void markUnquoted(String sourceCurrency, String targetCurrency);
+
+    boolean isUnquoted(String sourceCurrency, String targetCurrency);
+}
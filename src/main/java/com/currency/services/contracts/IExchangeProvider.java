@@ -1,12 +1,42 @@
 package com.currency.services.contracts;
 
 import java.math.BigDecimal;
+import java.util.Set;
 
 import com.currency.dto.request.ExchangeRequest;
+import com.currency.utils.CurrencyUtils;
+import com.currency.utils.Deadline;
 
 import io.smallrye.mutiny.Uni;
 
 public interface IExchangeProvider {
     String name();
-    Uni<BigDecimal> getExchangeRate(ExchangeRequest request);
+
+    /**
+     * Returns the per-unit rate for the request pair, already normalized from the
+     * provider's {@link #quoteType()}. Attempts and retries must not outlive the
+     * deadline.
+     */
+    Uni<BigDecimal> getExchangeRate(ExchangeRequest request, Deadline deadline);
+
+    default QuoteType quoteType() {
+        return QuoteType.PER_UNIT;
+    }
+
+    /**
+     * Currencies the provider quotes, every supported currency unless it says
+     * otherwise.
+     */
+    default Set<String> currencies() {
+        return CurrencyUtils.currencySet();
+    }
+
+    /**
+     * Whether the provider quotes the pair. Providers that only quote some pairs of
+     * their currencies override this.
+     */
+    default boolean supports(String sourceCurrency, String targetCurrency) {
+        Set<String> currencies = currencies();
+        return currencies.contains(sourceCurrency) && currencies.contains(targetCurrency);
+    }
 }
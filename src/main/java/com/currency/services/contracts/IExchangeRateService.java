@@ -1,10 +1,33 @@
 package com.currency.services.contracts;
 
+import java.util.List;
+
 import com.currency.dto.request.ExchangeRequest;
 import com.currency.dto.response.ExchangeResponse;
+import com.currency.dto.response.RateStreamEvent;
+import com.currency.utils.Deadline;
 
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 
+/**
+ * Every operation answers by its deadline: provider calls are cut off and the best
+ * quote received so far is used once the time is up.
+ */
 public interface IExchangeRateService { 
-    Uni<ExchangeResponse> findBestExchangeRate(ExchangeRequest request);
+    Uni<ExchangeResponse> findBestExchangeRate(ExchangeRequest request, Deadline deadline);
+    Uni<List<ExchangeResponse>> findBestExchangeRates(List<ExchangeRequest> requests, Deadline deadline);
+    Multi<RateStreamEvent> streamExchangeRates(ExchangeRequest request, Deadline deadline);
+
+    default Uni<ExchangeResponse> findBestExchangeRate(ExchangeRequest request) {
+        return findBestExchangeRate(request, Deadline.none());
+    }
+
+    default Uni<List<ExchangeResponse>> findBestExchangeRates(List<ExchangeRequest> requests) {
+        return findBestExchangeRates(requests, Deadline.none());
+    }
+
+    default Multi<RateStreamEvent> streamExchangeRates(ExchangeRequest request) {
+        return streamExchangeRates(request, Deadline.none());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.currency.services.contracts;
+
+import java.util.List;
+
+import com.currency.dto.response.RequestTrace;
+
+public interface IFlightRecorder {
+
+    void record(RequestTrace trace);
+
+    /**
+     * Up to {@code limit} of the latest traces, newest first.
+     */
+    List<RequestTrace> recent(int limit);
+
+    /**
+     * Traces recorded since startup, including those already overwritten.
+     */
+    long recorded();
+}
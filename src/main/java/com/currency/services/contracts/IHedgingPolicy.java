@@ -0,0 +1,14 @@
+package com.currency.services.contracts;
+
+import java.util.function.Supplier;
+
+import io.smallrye.mutiny.Uni;
+
+public interface IHedgingPolicy {
+    /**
+     * Runs the call and, when hedging is enabled for the provider, fires a duplicate
+     * once the first attempt has been pending longer than the provider's p95. The
+     * first answer wins and the other attempt is cancelled.
+     */
+    <T> Uni<T> hedge(String provider, Supplier<Uni<T>> call);
+}
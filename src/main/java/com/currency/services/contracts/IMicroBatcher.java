@@ -0,0 +1,17 @@
+package com.currency.services.contracts;
+
+import java.math.BigDecimal;
+
+import com.currency.dto.request.ExchangeRequest;
+import com.currency.utils.Deadline;
+
+import io.smallrye.mutiny.Uni;
+
+public interface IMicroBatcher {
+    /**
+     * Rate of the request, fetched together with the other requests to the provider
+     * that arrive within the batching window. Falls back to a single call when
+     * batching is disabled.
+     */
+    Uni<BigDecimal> submit(IBatchExchangeProvider provider, ExchangeRequest request, Deadline deadline);
+}
@@ -0,0 +1,16 @@
+package com.currency.services.contracts;
+
+public interface IProviderCapabilities {
+    /**
+     * Whether the provider is worth calling for the pair: it declares support for it
+     * and has not recently kept failing to quote it.
+     */
+    boolean canQuote(IExchangeProvider provider, String sourceCurrency, String targetCurrency);
+
+    /**
+     * Records the outcome of a live call, {@code quoted} being whether it returned a
+     * valid rate. Calls that failed count as not quoted, except for timeouts, open
+     * circuit breakers, shed calls and fallback answers, which are not recorded.
+     */
+    void record(IExchangeProvider provider, String sourceCurrency, String targetCurrency, boolean quoted);
+}
@@ -0,0 +1,26 @@
+package com.currency.services.contracts;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public interface IProviderLatencyTracker {
+    void record(String provider, long latencyNanos);
+
+    /**
+     * Observed latency of the provider for the given quantile, empty until enough
+     * samples have been recorded.
+     */
+    Optional<Duration> percentile(String provider, double quantile);
+
+    /**
+     * Per-call timeout derived from the provider's recent tail latency, empty while
+     * there is not enough data and the static fault-tolerance timeout applies.
+     */
+    Optional<Duration> timeoutFor(String provider);
+
+    /**
+     * Whether the provider should be left out of the next aggregation because its
+     * recent tail latency would break the request SLO.
+     */
+    boolean shouldSkip(String provider);
+}
@@ -0,0 +1,35 @@
+package com.currency.services.contracts;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+import com.currency.dto.request.ExchangeRequest;
+import com.currency.utils.Deadline;
+
+import io.smallrye.mutiny.Uni;
+
+public interface IRateCache {
+    /**
+     * Cached rate of the pair, or the loader's when there is none. A load started on
+     * behalf of this request runs under its deadline; background refreshes run
+     * without one.
+     */
+    Uni<BigDecimal> getExchangeRate(IExchangeProvider provider, ExchangeRequest request, Deadline deadline,
+            Function<Deadline, Uni<BigDecimal>> loader);
+
+    /**
+     * Time left until the cached rate of the pair expires, negative once it has. Empty
+     * when the cache cannot refresh the pair on its own: nothing was requested for it
+     * yet, a load is already running, or caching is disabled.
+     */
+    Optional<Duration> timeToExpiry(IExchangeProvider provider, ExchangeRequest request);
+
+    /**
+     * Reloads the rate of the pair ahead of its expiry through the loader of the last
+     * request for it, without a deadline. Emits {@code null} when there is nothing to
+     * refresh.
+     */
+    Uni<BigDecimal> refresh(IExchangeProvider provider, ExchangeRequest request);
+}
@@ -0,0 +1,10 @@
+package com.currency.services.contracts;
+
+public interface IRatePrefetcher {
+
+    /**
+     * Counts a request for the pair. The most requested pairs are refreshed in the
+     * background before their cached rates expire.
+     */
+    void recordRequest(String sourceCurrency, String targetCurrency);
+}
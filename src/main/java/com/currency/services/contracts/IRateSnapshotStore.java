@@ -0,0 +1,21 @@
+package com.currency.services.contracts;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+
+public interface IRateSnapshotStore {
+
+    /**
+     * Records a rate that a provider has just quoted live. Persisting it happens in
+     * the background.
+     */
+    void record(String provider, String sourceCurrency, String targetCurrency, BigDecimal rate);
+
+    /**
+     * Best rate any provider quoted for the pair within the configured maximum age.
+     */
+    Optional<Snapshot> lastKnownGood(String sourceCurrency, String targetCurrency);
+
+    record Snapshot(String provider, BigDecimal rate, Instant quotedAt) {}
+}
@@ -0,0 +1,10 @@
+package com.currency.services.contracts;
+
+import com.currency.utils.RetryBudget;
+
+public interface IRetryBudgets {
+    /**
+     * Shared retry budget of the provider, created on first use.
+     */
+    RetryBudget forProvider(String provider);
+}
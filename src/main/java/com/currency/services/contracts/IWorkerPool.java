@@ -0,0 +1,16 @@
+package com.currency.services.contracts;
+
+import java.util.concurrent.Callable;
+
+import io.smallrye.mutiny.Uni;
+
+public interface IWorkerPool {
+    /**
+     * Runs a CPU-bound stage of a provider call, such as decoding its response. When
+     * {@code offload} is set the stage runs on the bounded worker pool, and fails with
+     * an {@link com.currency.exceptions.OverloadedException} if the pool's queue is
+     * full. Otherwise it runs right away on the calling thread. Either way its time is
+     * recorded per provider and stage, tagged with the kind of thread it ran on.
+     */
+    <T> Uni<T> run(String provider, String stage, boolean offload, Callable<T> work);
+}
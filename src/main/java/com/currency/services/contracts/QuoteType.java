@@ -0,0 +1,23 @@
+package com.currency.services.contracts;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * How a provider expresses its quote for a conversion request.
+ */
+public enum QuoteType {
+
+    /** The quote is the rate for one unit of the source currency. */
+    PER_UNIT,
+
+    /** The quote is the converted total for the requested amount. */
+    TOTAL;
+
+    public BigDecimal toRate(BigDecimal quote, BigDecimal amount) {
+        if (quote == null || this == PER_UNIT) {
+            return quote;
+        }
+        return quote.divide(amount, MathContext.DECIMAL64);
+    }
+}
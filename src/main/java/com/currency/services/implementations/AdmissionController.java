@@ -0,0 +1,256 @@
+package com.currency.services.implementations;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.currency.exceptions.OverloadedException;
+import com.currency.services.contracts.IAdmissionController;
+import com.currency.utils.AimdLimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Admission control in front of the aggregation. Up to an adaptive number of
+ * requests run at once; the rest wait in a FIFO queue. A request is turned away
+ * straight away when the queue is full or when its expected wait, derived from the
+ * queue length and the mean request latency, is above
+ * {@code exchange.admission.max-queue-wait}, and a queued request that has waited
+ * that long is turned away as well.
+ */
+@ApplicationScoped
+public class AdmissionController implements IAdmissionController {
+
+    private static final int WAITING = 0;
+    private static final int GRANTED = 1;
+    private static final int STARTED = 2;
+    private static final int ABANDONED = 3;
+
+    // Weight of the newest sample in the mean request latency
+    private static final double LATENCY_SMOOTHING = 0.1;
+
+    @ConfigProperty(name = "exchange.admission.enabled", defaultValue = "true")
+    boolean enabled = true;
+
+    @ConfigProperty(name = "exchange.admission.initial-limit", defaultValue = "200")
+    int initialLimit = 200;
+
+    @ConfigProperty(name = "exchange.admission.min-limit", defaultValue = "20")
+    int minLimit = 20;
+
+    @ConfigProperty(name = "exchange.admission.max-limit", defaultValue = "2000")
+    int maxLimit = 2000;
+
+    @ConfigProperty(name = "exchange.admission.backoff-ratio", defaultValue = "0.9")
+    double backoffRatio = 0.9;
+
+    @ConfigProperty(name = "exchange.admission.latency-target", defaultValue = "2S")
+    Duration latencyTarget = Duration.ofSeconds(2);
+
+    @ConfigProperty(name = "exchange.admission.max-queue", defaultValue = "1000")
+    int maxQueue = 1000;
+
+    @ConfigProperty(name = "exchange.admission.max-queue-wait", defaultValue = "500ms")
+    Duration maxQueueWait = Duration.ofMillis(500);
+
+    @Inject
+    MeterRegistry registry;
+
+    private final Queue<Waiter> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private AimdLimit limit;
+    private Timer queueWait;
+    private volatile double meanLatencyNanos;
+
+    @PostConstruct
+    void init() {
+        limit = new AimdLimit(initialLimit, minLimit, maxLimit, backoffRatio, latencyTarget);
+        Gauge.builder("exchange.admission.limit", limit, AimdLimit::limit).register(registry);
+        Gauge.builder("exchange.admission.inflight", limit, AimdLimit::inflight).register(registry);
+        Gauge.builder("exchange.admission.queued", queued, AtomicInteger::get).register(registry);
+        queueWait = Timer.builder("exchange.admission.queue.wait")
+                .description("Time requests spent queued before running")
+                .register(registry);
+    }
+
+    @Override
+    public <T> Uni<T> admit(Supplier<Uni<T>> work) {
+        if (!enabled) {
+            return work.get();
+        }
+        return Uni.createFrom().deferred(() -> {
+            if (waiting.isEmpty() && limit.tryAcquire()) {
+                queueWait.record(0, TimeUnit.NANOSECONDS);
+                return run(work);
+            }
+
+            long expectedWait = expectedWaitNanos();
+            if (queued.get() >= maxQueue) {
+                return reject("queue-full", expectedWait);
+            }
+            if (expectedWait > maxQueueWait.toNanos()) {
+                return reject("queue-wait", expectedWait);
+            }
+            return enqueue(work);
+        });
+    }
+
+    @Override
+    public <T> Multi<T> admitStream(Supplier<Multi<T>> work) {
+        if (!enabled) {
+            return work.get();
+        }
+        return Multi.createFrom().emitter(emitter -> {
+            AtomicReference<Cancellable> slot = new AtomicReference<>();
+            emitter.onTermination(() -> {
+                Cancellable admitted = slot.get();
+                if (admitted != null) {
+                    admitted.cancel();
+                }
+            });
+
+            // The admitted work is a Uni that stays pending for as long as the stream runs
+            slot.set(admit(() -> Uni.createFrom().<Void>emitter(held -> {
+                Cancellable stream = work.get().subscribe().with(
+                        emitter::emit,
+                        failure -> {
+                            held.complete(null);
+                            emitter.fail(failure);
+                        },
+                        () -> {
+                            held.complete(null);
+                            emitter.complete();
+                        });
+                held.onTermination(stream::cancel);
+            })).subscribe().with(ignored -> {}, emitter::fail));
+
+            if (emitter.isCancelled()) {
+                slot.get().cancel();
+            }
+        });
+    }
+
+    private <T> Uni<T> enqueue(Supplier<Uni<T>> work) {
+        Waiter waiter = new Waiter(System.nanoTime());
+        Uni<Void> permit = Uni.createFrom().emitter(emitter -> {
+            waiter.emitter = emitter;
+            emitter.onTermination(() -> {
+                // Cancelled while queued, or after the permit was handed over but before it was used
+                if (waiter.state.compareAndSet(WAITING, ABANDONED)) {
+                    abandon(waiter);
+                } else if (waiter.state.compareAndSet(GRANTED, ABANDONED)) {
+                    releaseAndDispatch();
+                }
+            });
+            queued.incrementAndGet();
+            waiting.add(waiter);
+
+            Uni.createFrom().voidItem()
+                    .onItem().delayIt().by(maxQueueWait)
+                    .subscribe().with(ignored -> {
+                        if (waiter.state.compareAndSet(WAITING, ABANDONED)) {
+                            abandon(waiter);
+                            registry.counter("exchange.admission.rejected", "reason", "timeout").increment();
+                            emitter.fail(overloaded(expectedWaitNanos()));
+                        }
+                    });
+
+            // A permit may have been returned while this request was being queued
+            dispatch();
+        });
+
+        return permit.onItem().transformToUni(ignored -> {
+            if (!waiter.state.compareAndSet(GRANTED, STARTED)) {
+                return Uni.createFrom().failure(overloaded(expectedWaitNanos()));
+            }
+            queueWait.record(System.nanoTime() - waiter.queuedAt, TimeUnit.NANOSECONDS);
+            return run(work);
+        });
+    }
+
+    private <T> Uni<T> run(Supplier<Uni<T>> work) {
+        long start = System.nanoTime();
+        return Uni.createFrom().deferred(work::get)
+                .onTermination().invoke((item, failure, cancelled) -> {
+                    long latency = System.nanoTime() - start;
+                    if (cancelled) {
+                        limit.release();
+                    } else {
+                        // Racing updates may lose a sample, which the average tolerates
+                        meanLatencyNanos += (latency - meanLatencyNanos) * LATENCY_SMOOTHING;
+                        // Failed requests are mostly "no valid rate" answers, only latency moves this limit
+                        limit.release(latency, false);
+                    }
+                    dispatch();
+                });
+    }
+
+    /**
+     * Hands free permits to the queued requests in arrival order.
+     */
+    private void dispatch() {
+        while (!waiting.isEmpty() && limit.tryAcquire()) {
+            Waiter waiter = waiting.poll();
+            if (waiter == null) {
+                limit.release();
+                return;
+            }
+            if (waiter.state.compareAndSet(WAITING, GRANTED)) {
+                queued.decrementAndGet();
+                waiter.emitter.complete(null);
+            } else {
+                limit.release();
+            }
+        }
+    }
+
+    private void abandon(Waiter waiter) {
+        queued.decrementAndGet();
+        waiting.remove(waiter);
+    }
+
+    private void releaseAndDispatch() {
+        limit.release();
+        dispatch();
+    }
+
+    private long expectedWaitNanos() {
+        return (long) ((queued.get() + 1) * meanLatencyNanos / Math.max(1, limit.limit()));
+    }
+
+    private <T> Uni<T> reject(String reason, long expectedWait) {
+        registry.counter("exchange.admission.rejected", "reason", reason).increment();
+        return Uni.createFrom().failure(overloaded(expectedWait));
+    }
+
+    private OverloadedException overloaded(long expectedWait) {
+        // Retry-After has whole-second resolution
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(expectedWait + 999_999_999L));
+        return new OverloadedException("Service is overloaded, retry later", Duration.ofSeconds(seconds));
+    }
+
+    private static final class Waiter {
+        final long queuedAt;
+        final AtomicInteger state = new AtomicInteger(WAITING);
+        volatile UniEmitter<? super Void> emitter;
+
+        Waiter(long queuedAt) {
+            this.queuedAt = queuedAt;
+        }
+    }
+}
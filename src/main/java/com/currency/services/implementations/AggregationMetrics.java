@@ -0,0 +1,169 @@
+package com.currency.services.implementations;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.microprofile.faulttolerance.exceptions.CircuitBreakerOpenException;
+
+import com.currency.exceptions.OverloadedException;
+import com.currency.exceptions.ProviderFallbackException;
+import com.currency.services.contracts.IAggregationMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Meters of the provider fan-out and the aggregation. Every meter is registered once
+ * and kept, so recording costs no registry lookup; tags are limited to the provider
+ * name and a fixed set of outcomes.
+ *
+ * <ul>
+ * <li>{@code exchange.provider.calls{provider,outcome}}: upstream calls by outcome</li>
+ * <li>{@code exchange.provider.inflight{provider}}: upstream calls in flight</li>
+ * <li>{@code exchange.aggregation{outcome}}: duration of the whole aggregation</li>
+ * <li>{@code exchange.aggregation.wins{provider}}: aggregations won by each provider</li>
+ * <li>{@code exchange.aggregation.spread}: best over worst valid quote, in basis points</li>
+ * </ul>
+ */
+@ApplicationScoped
+public class AggregationMetrics implements IAggregationMetrics {
+
+    private static final BigDecimal BASIS_POINTS = BigDecimal.valueOf(10_000);
+
+    @Inject
+    MeterRegistry registry;
+
+    private final Map<String, ProviderMeters> providers = new ConcurrentHashMap<>();
+    private Timer answered;
+    private Timer noValidRate;
+    private DistributionSummary spread;
+
+    @PostConstruct
+    public void init() {
+        answered = aggregationTimer("answered");
+        noValidRate = aggregationTimer("no-valid-rate");
+        spread = DistributionSummary.builder("exchange.aggregation.spread")
+                .description("Spread between the best and the worst valid quote of an aggregation")
+                .baseUnit("basis-points")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Override
+    public Uni<BigDecimal> trackCall(String provider, Uni<BigDecimal> call) {
+        ProviderMeters meters = metersFor(provider);
+        return Uni.createFrom().deferred(() -> {
+            long start = System.nanoTime();
+            meters.inflight.incrementAndGet();
+            return call.onTermination().invoke((rate, failure, cancelled) -> {
+                meters.inflight.decrementAndGet();
+                meters.calls[outcomeOf(rate, failure, cancelled).ordinal()]
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            });
+        });
+    }
+
+    @Override
+    public void recordAggregation(long durationNanos, String winner, BigDecimal best, BigDecimal worst) {
+        if (winner == null) {
+            noValidRate.record(durationNanos, TimeUnit.NANOSECONDS);
+            return;
+        }
+        answered.record(durationNanos, TimeUnit.NANOSECONDS);
+        metersFor(winner).wins.increment();
+        if (best != null && worst != null && best.signum() > 0) {
+            spread.record(best.subtract(worst).multiply(BASIS_POINTS).divide(best, MathContext.DECIMAL64).doubleValue());
+        }
+    }
+
+    private static Outcome outcomeOf(BigDecimal rate, Throwable failure, boolean cancelled) {
+        if (cancelled) {
+            return Outcome.CANCELLED;
+        }
+        if (failure == null) {
+            return rate == null || rate.signum() <= 0 ? Outcome.INVALID_RATE : Outcome.SUCCESS;
+        }
+        if (failure instanceof io.smallrye.mutiny.TimeoutException
+                || failure instanceof org.eclipse.microprofile.faulttolerance.exceptions.TimeoutException) {
+            return Outcome.TIMEOUT;
+        }
+        if (failure instanceof CircuitBreakerOpenException) {
+            return Outcome.CIRCUIT_OPEN;
+        }
+        if (failure instanceof ProviderFallbackException) {
+            return Outcome.FALLBACK;
+        }
+        if (failure instanceof OverloadedException) {
+            return Outcome.OVERLOADED;
+        }
+        return Outcome.ERROR;
+    }
+
+    private Timer aggregationTimer(String outcome) {
+        return Timer.builder("exchange.aggregation")
+                .description("Time from receiving a request to selecting the best quote")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private ProviderMeters metersFor(String provider) {
+        ProviderMeters meters = providers.get(provider);
+        if (meters == null) {
+            meters = providers.computeIfAbsent(provider, ProviderMeters::new);
+        }
+        return meters;
+    }
+
+    private enum Outcome {
+        SUCCESS("success"),
+        INVALID_RATE("invalid-rate"),
+        TIMEOUT("timeout"),
+        CIRCUIT_OPEN("circuit-open"),
+        FALLBACK("fallback"),
+        OVERLOADED("overloaded"),
+        CANCELLED("cancelled"),
+        ERROR("error");
+
+        final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final class ProviderMeters {
+        final Timer[] calls = new Timer[Outcome.values().length];
+        final AtomicInteger inflight = new AtomicInteger();
+        final Counter wins;
+
+        ProviderMeters(String provider) {
+            for (Outcome outcome : Outcome.values()) {
+                calls[outcome.ordinal()] = Timer.builder("exchange.provider.calls")
+                        .description("Upstream provider calls by outcome")
+                        .tag("provider", provider)
+                        .tag("outcome", outcome.tag)
+                        .register(registry);
+            }
+            Gauge.builder("exchange.provider.inflight", inflight, AtomicInteger::get)
+                    .tag("provider", provider)
+                    .description("Upstream provider calls in flight")
+                    .register(registry);
+            wins = Counter.builder("exchange.aggregation.wins")
+                    .tag("provider", provider)
+                    .description("Aggregations won by the provider")
+                    .register(registry);
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.currency.services.implementations;
 
 import java.math.BigDecimal;
-import java.time.temporal.ChronoUnit;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
-import org.eclipse.microprofile.faulttolerance.Retry;
-import org.eclipse.microprofile.faulttolerance.Timeout;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
 import org.jboss.logging.Logger;
 
@@ -13,13 +15,17 @@ import com.currency.api.client.Api1Client;
 import com.currency.dto.Api1Request;
 import com.currency.dto.Api1Response;
 import com.currency.dto.request.ExchangeRequest;
-import com.currency.services.contracts.IExchangeProvider;
+import com.currency.services.contracts.IBatchExchangeProvider;
+import com.currency.services.contracts.IRetryBudgets;
+import com.currency.utils.Deadline;
+import com.currency.utils.RetryPolicy;
 
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 
 @ApplicationScoped
-public class Api1Provider implements IExchangeProvider {
+public class Api1Provider implements IBatchExchangeProvider {
 
     
     private static final Logger LOG = Logger.getLogger(Api1Provider.class);
@@ -27,13 +33,43 @@ public class Api1Provider implements IExchangeProvider {
     @RestClient
     Api1Client apiClient;
     
+    @ConfigProperty(name = "api1.timeout", defaultValue = "2S")
+    Duration timeout = Duration.ofSeconds(2);
+    
+    @ConfigProperty(name = "api1.retry.max-retries", defaultValue = "2")
+    int maxRetries = 2;
+    
+    @ConfigProperty(name = "api1.retry.delay", defaultValue = "500")
+    long retryDelayMillis = 500;
+    
+    @ConfigProperty(name = "exchange.retry.max-delay", defaultValue = "2S")
+    Duration maxRetryDelay = Duration.ofSeconds(2);
+    
+    @ConfigProperty(name = "exchange.deadline.min-attempt", defaultValue = "100ms")
+    Duration minAttempt = Duration.ofMillis(100);
+    
+    @Inject
+    IRetryBudgets retryBudgets;
+    
+    @ConfigProperty(name = "api1.currencies")
+    Optional<Set<String>> supportedCurrencies = Optional.empty();
+    
+    @ConfigProperty(name = "api1.batch.enabled", defaultValue = "false")
+    boolean batchEnabled = false;
+    
     @Override
     public String name() { return "API1"; }
     
-    @Timeout(value = 2, unit = ChronoUnit.SECONDS)
-    @Retry(maxRetries = 2, delay = 500)
+    @Override
+    public Set<String> currencies() {
+        return supportedCurrencies.orElseGet(IBatchExchangeProvider.super::currencies);
+    }
+    
+    @Override
+    public boolean supportsBatch() { return batchEnabled; }
+    
     @CircuitBreaker(requestVolumeThreshold = 4, failureRatio = 0.5, delay = 1000)
-    public Uni<BigDecimal> getExchangeRate(ExchangeRequest request) {
+    public Uni<BigDecimal> getExchangeRate(ExchangeRequest request, Deadline deadline) {
         if (request == null || request.sourceCurrency() == null || 
             request.targetCurrency() == null || request.amount() == null) {
             LOG.error("Invalid request parameters for API1");
@@ -46,11 +82,27 @@ public class Api1Provider implements IExchangeProvider {
             request.amount()
         );
         
-        return apiClient.getRate(apiRequest)
+        return retryPolicy().call(() -> apiClient.getRate(apiRequest), deadline)
             .onItem().transform(Api1Response::rate)
-            .onFailure().recoverWithItem(e -> {
-                LOG.errorf("Error calling API1: %s", e.getMessage());
-                return null;
-            });
+            .onFailure().invoke(e -> LOG.errorf("Error calling API1: %s", e.getMessage()));
+    }
+    
+    @CircuitBreaker(requestVolumeThreshold = 4, failureRatio = 0.5, delay = 1000)
+    @Override
+    public Uni<List<BigDecimal>> getExchangeRates(List<ExchangeRequest> requests, Deadline deadline) {
+        List<Api1Request> apiRequests = requests.stream()
+            .map(request -> new Api1Request(request.sourceCurrency(), request.targetCurrency(), request.amount()))
+            .toList();
+        
+        return retryPolicy().call(() -> apiClient.getRates(apiRequests), deadline)
+            .onItem().transform(responses -> responses.stream()
+                .map(response -> response == null ? null : response.rate())
+                .toList())
+            .onFailure().invoke(e -> LOG.errorf("Error calling API1 for %d pairs: %s", requests.size(), e.getMessage()));
+    }
+    
+    private RetryPolicy retryPolicy() {
+        return new RetryPolicy(name(), timeout, maxRetries, Duration.ofMillis(retryDelayMillis), maxRetryDelay,
+            minAttempt, retryBudgets.forProvider(name()));
     }
-}
+}
\ No newline at end of file
@@ -1,23 +1,29 @@
 package com.currency.services.implementations;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
-import java.time.temporal.ChronoUnit;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
 
-import org.eclipse.microprofile.faulttolerance.Retry;
-import org.eclipse.microprofile.faulttolerance.Timeout;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
 import org.jboss.logging.Logger;
 
 import com.currency.api.client.Api2Client;
+import com.currency.api.client.codec.Api2ResponseDecoder;
 import com.currency.dto.Api2Request;
 import com.currency.dto.Api2Response;
 import com.currency.dto.request.ExchangeRequest;
 import com.currency.services.contracts.IExchangeProvider;
-import com.currency.utils.XmlUtils;
+import com.currency.services.contracts.IRetryBudgets;
+import com.currency.services.contracts.IWorkerPool;
+import com.currency.utils.Deadline;
+import com.currency.utils.RetryPolicy;
 
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.xml.bind.JAXBException;
+import jakarta.inject.Inject;
 
 @ApplicationScoped
 public class Api2Provider implements IExchangeProvider {
@@ -27,14 +33,46 @@ public class Api2Provider implements IExchangeProvider {
     @RestClient
     Api2Client apiClient;
     
+    @ConfigProperty(name = "api2.timeout", defaultValue = "3S")
+    Duration timeout = Duration.ofSeconds(3);
+    
+    @ConfigProperty(name = "api2.retry.max-retries", defaultValue = "3")
+    int maxRetries = 3;
+    
+    @ConfigProperty(name = "api2.retry.delay", defaultValue = "500")
+    long retryDelayMillis = 500;
+    
+    @ConfigProperty(name = "exchange.retry.max-delay", defaultValue = "2S")
+    Duration maxRetryDelay = Duration.ofSeconds(2);
+    
+    @ConfigProperty(name = "exchange.deadline.min-attempt", defaultValue = "100ms")
+    Duration minAttempt = Duration.ofMillis(100);
+    
+    @Inject
+    IRetryBudgets retryBudgets;
+    
+    @ConfigProperty(name = "api2.currencies")
+    Optional<Set<String>> supportedCurrencies = Optional.empty();
+    
+    @ConfigProperty(name = "api2.offload.enabled", defaultValue = "true")
+    boolean offload = true;
+    
+    @Inject
+    IWorkerPool workerPool;
+    
+    private final Api2ResponseDecoder responseDecoder = new Api2ResponseDecoder();
+    
     @Override
     public String name() {
         return "API2";
     }
     
-    @Timeout(value = 3, unit = ChronoUnit.SECONDS)
-    @Retry(maxRetries = 3, delay = 500)
-    public Uni<BigDecimal> getExchangeRate(ExchangeRequest request) {
+    @Override
+    public Set<String> currencies() {
+        return supportedCurrencies.orElseGet(IExchangeProvider.super::currencies);
+    }
+    
+    public Uni<BigDecimal> getExchangeRate(ExchangeRequest request, Deadline deadline) {
         
         // Validar entrada
         if (request == null || request.sourceCurrency() == null || 
@@ -48,42 +86,22 @@ public class Api2Provider implements IExchangeProvider {
                 request.targetCurrency(),
                 request.amount());
         
-        try {
-            String xmlRequest = XmlUtils.objectToXml(apiRequest, Api2Request.class);
-            LOG.debugf("Sending XML request to API2: %s", xmlRequest);
-            
-            return apiClient.getRate(xmlRequest)
-                    .onItem().transform(this::parseXmlResponse)
-                    .onFailure().recoverWithItem(e -> {
-                        LOG.errorf("Error calling API2: %s", e.getMessage());
-                        return null;
-                    });
-                    
-        } catch (JAXBException e) {
-           LOG.errorf("Failed to convert request to XML: %s", e.getMessage());
-            return Uni.createFrom().item((BigDecimal) null);
-        }
+        RetryPolicy policy = new RetryPolicy(name(), timeout, maxRetries, Duration.ofMillis(retryDelayMillis), maxRetryDelay,
+            minAttempt, retryBudgets.forProvider(name()));
+        // Parsing the XML is the costly part of the call, it runs off the event loop when offloaded
+        return policy.call(() -> apiClient.getRate(apiRequest), deadline)
+                .onItem().transformToUni(body -> workerPool.run(name(), "decode", offload,
+                        () -> extractResult(responseDecoder.decode(new ByteArrayInputStream(body)))))
+                .onFailure().invoke(e -> LOG.errorf("Error calling API2: %s", e.getMessage()));
     }
     
-    private BigDecimal parseXmlResponse(String xml) {
-        try {
-            if (xml == null || xml.trim().isEmpty()) {
-                LOG.warn("Received empty XML response from API2");
-                return null;
-            }
-            
-            Api2Response response = XmlUtils.xmlToObject(xml, Api2Response.class);
-            if (response == null || response.result() == null) {
-                LOG.warn("Parsed response is null or missing result");
-                return null;
-            }
-            
-            LOG.debugf("Successfully parsed API2 response: %s", response.result());
-            return response.result();
-            
-        } catch (Exception e) {
-            LOG.errorf("Failed to parse XML response: %s. XML content: %s", e.getMessage(), xml);
-            throw new RuntimeException("Failed to parse XML response", e);
+    private BigDecimal extractResult(Api2Response response) {
+        if (response == null || response.result() == null) {
+            LOG.warn("API2 response is empty or missing result");
+            return null;
         }
+        
+        LOG.debugf("Successfully parsed API2 response: %s", response.result());
+        return response.result();
     }
-}
\ No newline at end of file
+}
@@ -1,37 +1,88 @@
 package com.currency.services.implementations;
 
 import java.math.BigDecimal;
-import java.time.temporal.ChronoUnit;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.faulttolerance.Fallback;
-import org.eclipse.microprofile.faulttolerance.Retry;
-import org.eclipse.microprofile.faulttolerance.Timeout;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
 import org.jboss.logging.Logger;
 
 import com.currency.api.client.Api3Client;
 import com.currency.dto.Api3Request;
+import com.currency.dto.Api3Response;
 import com.currency.dto.request.ExchangeRequest;
-import com.currency.services.contracts.IExchangeProvider;
+import com.currency.exceptions.ProviderFallbackException;
+import com.currency.services.contracts.IBatchExchangeProvider;
+import com.currency.services.contracts.IRetryBudgets;
+import com.currency.services.contracts.IWorkerPool;
+import com.currency.services.contracts.QuoteType;
+import com.currency.utils.Deadline;
+import com.currency.utils.RetryPolicy;
 
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 
 @ApplicationScoped
-public class Api3Provider implements IExchangeProvider {
+public class Api3Provider implements IBatchExchangeProvider {
     
     private static final Logger LOG = Logger.getLogger(Api1Provider.class);
     
     @RestClient
     Api3Client apiClient;
     
+    @ConfigProperty(name = "api3.timeout", defaultValue = "2S")
+    Duration timeout = Duration.ofSeconds(2);
+    
+    @ConfigProperty(name = "api3.retry.max-retries", defaultValue = "2")
+    int maxRetries = 2;
+    
+    @ConfigProperty(name = "api3.retry.delay", defaultValue = "500")
+    long retryDelayMillis = 500;
+    
+    @ConfigProperty(name = "exchange.retry.max-delay", defaultValue = "2S")
+    Duration maxRetryDelay = Duration.ofSeconds(2);
+    
+    @ConfigProperty(name = "exchange.deadline.min-attempt", defaultValue = "100ms")
+    Duration minAttempt = Duration.ofMillis(100);
+    
+    @Inject
+    IRetryBudgets retryBudgets;
+    
+    @ConfigProperty(name = "api3.currencies")
+    Optional<Set<String>> supportedCurrencies = Optional.empty();
+    
+    @ConfigProperty(name = "api3.batch.enabled", defaultValue = "false")
+    boolean batchEnabled = false;
+    
+    @ConfigProperty(name = "api3.offload.enabled", defaultValue = "false")
+    boolean offload = false;
+    
+    @Inject
+    IWorkerPool workerPool;
+    
     @Override
     public String name() { return "API3"; }
     
-    @Timeout(value = 2, unit = ChronoUnit.SECONDS)
-    @Retry(maxRetries = 2, delay = 500)
+    @Override
+    public Set<String> currencies() {
+        return supportedCurrencies.orElseGet(IBatchExchangeProvider.super::currencies);
+    }
+    
+    @Override
+    public boolean supportsBatch() { return batchEnabled; }
+    
+    // API3 answers with the total for the requested quantity, not a per-unit rate
+    @Override
+    public QuoteType quoteType() { return QuoteType.TOTAL; }
+    
     @Fallback(fallbackMethod = "fallbackRate")
-    public Uni<BigDecimal> getExchangeRate(ExchangeRequest request) {
+    public Uni<BigDecimal> getExchangeRate(ExchangeRequest request, Deadline deadline) {
 
         if (request == null || request.sourceCurrency() == null || 
             request.targetCurrency() == null || request.amount() == null) {
@@ -45,16 +96,39 @@ public class Api3Provider implements IExchangeProvider {
             request.amount()
         );
         
-        return apiClient.getRate(apiRequest)
-            .onItem().transform(response -> response.data().total())
-            .onFailure().recoverWithItem(e -> {
-                LOG.errorf("Error calling API3: %s", e.getMessage());
-                return null;
-            });
+        return retryPolicy().call(() -> apiClient.getRate(apiRequest), deadline)
+            .onItem().transformToUni(response -> workerPool.run(name(), "convert", offload,
+                () -> quoteType().toRate(response.data().total(), request.amount())))
+            .onFailure().invoke(e -> LOG.errorf("Error calling API3: %s", e.getMessage()));
+    }
+    
+    @Override
+    public Uni<List<BigDecimal>> getExchangeRates(List<ExchangeRequest> requests, Deadline deadline) {
+        List<Api3Request> apiRequests = requests.stream()
+            .map(request -> new Api3Request(request.sourceCurrency(), request.targetCurrency(), request.amount()))
+            .toList();
+        
+        return retryPolicy().call(() -> apiClient.getRates(apiRequests), deadline)
+            .onItem().transformToUni(responses -> workerPool.run(name(), "convert", offload, () -> {
+                List<BigDecimal> rates = new ArrayList<>(requests.size());
+                for (int i = 0; i < requests.size(); i++) {
+                    Api3Response response = i < responses.size() ? responses.get(i) : null;
+                    rates.add(response == null || response.data() == null
+                        ? null
+                        : quoteType().toRate(response.data().total(), requests.get(i).amount()));
+                }
+                return rates;
+            }))
+            .onFailure().invoke(e -> LOG.errorf("Error calling API3 for %d pairs: %s", requests.size(), e.getMessage()));
+    }
+    
+    private RetryPolicy retryPolicy() {
+        return new RetryPolicy(name(), timeout, maxRetries, Duration.ofMillis(retryDelayMillis), maxRetryDelay,
+            minAttempt, retryBudgets.forProvider(name()));
     }
     
-    public Uni<BigDecimal> fallbackRate(ExchangeRequest request) {
+    public Uni<BigDecimal> fallbackRate(ExchangeRequest request, Deadline deadline) {
         LOG.warn("Using fallback for API3");
-        return Uni.createFrom().item((BigDecimal) null);
+        return Uni.createFrom().failure(new ProviderFallbackException("API3 is unavailable"));
     }
 }
\ No newline at end of file
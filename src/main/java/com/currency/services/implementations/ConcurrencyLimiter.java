@@ -0,0 +1,107 @@
+package com.currency.services.implementations;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.currency.exceptions.OverloadedException;
+import com.currency.services.contracts.IConcurrencyLimiter;
+import com.currency.utils.AimdLimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+
+/**
+ * One {@link AimdLimit} per provider on the calls in flight upstream. Calls that
+ * timed out or were turned away as overloaded, and calls slower than
+ * {@code exchange.concurrency.latency-threshold}, shrink the limit; other failures,
+ * such as an unsupported pair, say nothing about load and count as completed calls.
+ * Calls cancelled because the aggregation no longer needs them leave it unchanged.
+ */
+@ApplicationScoped
+public class ConcurrencyLimiter implements IConcurrencyLimiter {
+
+    @ConfigProperty(name = "exchange.concurrency.enabled", defaultValue = "true")
+    boolean enabled = true;
+
+    @ConfigProperty(name = "exchange.concurrency.initial-limit", defaultValue = "20")
+    int initialLimit = 20;
+
+    @ConfigProperty(name = "exchange.concurrency.min-limit", defaultValue = "2")
+    int minLimit = 2;
+
+    @ConfigProperty(name = "exchange.concurrency.max-limit", defaultValue = "200")
+    int maxLimit = 200;
+
+    @ConfigProperty(name = "exchange.concurrency.backoff-ratio", defaultValue = "0.9")
+    double backoffRatio = 0.9;
+
+    @ConfigProperty(name = "exchange.concurrency.latency-threshold", defaultValue = "2S")
+    Duration latencyThreshold = Duration.ofSeconds(2);
+
+    @Inject
+    MeterRegistry registry;
+
+    private final Map<String, AimdLimit> limits = new ConcurrentHashMap<>();
+
+    @Override
+    public <T> Uni<T> limit(String provider, Supplier<Uni<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        AimdLimit limit = limitFor(provider);
+        return Uni.createFrom().deferred(() -> {
+            if (!limit.tryAcquire()) {
+                registry.counter("exchange.provider.concurrency.rejected", "provider", provider).increment();
+                return Uni.createFrom().failure(new OverloadedException(
+                        "Provider " + provider + " is at its concurrency limit of " + limit.limit(), Duration.ZERO));
+            }
+            long start = System.nanoTime();
+            return Uni.createFrom().deferred(call::get)
+                    .onTermination().invoke((item, failure, cancelled) -> {
+                        if (cancelled) {
+                            limit.release();
+                        } else {
+                            limit.release(System.nanoTime() - start, isDrop(failure));
+                        }
+                    });
+        });
+    }
+
+    private static boolean isDrop(Throwable failure) {
+        if (failure instanceof WebApplicationException rejected) {
+            int status = rejected.getResponse().getStatus();
+            return status == 429 || status == 503;
+        }
+        return failure instanceof TimeoutException
+                || failure instanceof org.eclipse.microprofile.faulttolerance.exceptions.TimeoutException
+                || failure instanceof OverloadedException;
+    }
+
+    private AimdLimit limitFor(String provider) {
+        AimdLimit limit = limits.get(provider);
+        if (limit == null) {
+            limit = limits.computeIfAbsent(provider, this::createLimit);
+        }
+        return limit;
+    }
+
+    private AimdLimit createLimit(String provider) {
+        AimdLimit limit = new AimdLimit(initialLimit, minLimit, maxLimit, backoffRatio, latencyThreshold);
+        Gauge.builder("exchange.provider.concurrency.limit", limit, AimdLimit::limit)
+                .tag("provider", provider)
+                .register(registry);
+        Gauge.builder("exchange.provider.concurrency.inflight", limit, AimdLimit::inflight)
+                .tag("provider", provider)
+                .register(registry);
+        return limit;
+    }
+}
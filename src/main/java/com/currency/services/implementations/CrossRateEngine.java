@@ -0,0 +1,310 @@
+package com.currency.services.implementations;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.currency.dto.response.CrossRoute;
+import com.currency.services.contracts.ICrossRateEngine;
+import com.currency.utils.CurrencyRegistry;
+import com.currency.utils.CurrencyUtils;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Rate graph over the supported currencies whose edges are the best recent provider
+ * quote for each pair. The best route of a pair is the simple path of at most
+ * {@code exchange.cross-rate.max-hops} edges with the highest product of rates.
+ * Routes are computed on demand and cached; when an edge changes only the cached
+ * routes that use it, or that a better edge could now beat, are dropped.
+ *
+ * <p>Cached routes and unquoted marks are read without locking. Quote updates take
+ * the write lock; computing a missing route takes the read lock, so routes are never
+ * cached from edges that an update has already replaced.
+ */
+@ApplicationScoped
+public class CrossRateEngine implements ICrossRateEngine {
+
+    private static final Logger LOG = Logger.getLogger(CrossRateEngine.class);
+
+    @ConfigProperty(name = "exchange.cross-rate.enabled", defaultValue = "true")
+    boolean enabled = true;
+
+    @ConfigProperty(name = "exchange.cross-rate.max-hops", defaultValue = "3")
+    int maxHops = 3;
+
+    @ConfigProperty(name = "exchange.cross-rate.max-age", defaultValue = "30S")
+    Duration maxAge = Duration.ofSeconds(30);
+
+    private final List<String> currencies = CurrencyUtils.currencies();
+    // Graph node per registry id, -1 for currencies outside the graph
+    private final int[] nodes = new int[CurrencyRegistry.MAX_CURRENCIES];
+
+    // Latest quote of every provider per edge, indexed by [source][target]; guarded by lock
+    private final Map<String, Quote>[][] quotes;
+    // Cached routes and unquoted marks, indexed by source * size + target
+    private final AtomicReferenceArray<Route> routes;
+    private final AtomicLongArray unquotedUntil;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public CrossRateEngine() {
+        int size = currencies.size();
+        Arrays.fill(nodes, -1);
+        for (int i = 0; i < size; i++) {
+            nodes[CurrencyRegistry.idOf(currencies.get(i))] = i;
+        }
+        quotes = new Map[size][size];
+        routes = new AtomicReferenceArray<>(size * size);
+        unquotedUntil = new AtomicLongArray(size * size);
+    }
+
+    @Override
+    public void update(String provider, String sourceCurrency, String targetCurrency, BigDecimal rate) {
+        int source = node(sourceCurrency);
+        int target = node(targetCurrency);
+        if (source < 0 || target < 0 || source == target || rate == null || rate.signum() <= 0) {
+            return;
+        }
+
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            long now = System.nanoTime();
+            Quote previous = bestQuote(source, target, now);
+            if (quotes[source][target] == null) {
+                quotes[source][target] = new HashMap<>();
+            }
+            quotes[source][target].put(provider, new Quote(provider, rate, rate.doubleValue(), now));
+            unquotedUntil.set(index(source, target), 0);
+
+            Quote current = bestQuote(source, target, now);
+            double before = previous == null ? 0 : previous.value();
+            if (current.value() != before) {
+                invalidate(source, target, current.value() > before ? current.value() : 0);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<CrossRoute> bestRoute(String sourceCurrency, String targetCurrency) {
+        int source = node(sourceCurrency);
+        int target = node(targetCurrency);
+        if (!enabled || source < 0 || target < 0 || source == target) {
+            return Optional.empty();
+        }
+
+        Route route = routes.get(index(source, target));
+        if (isExpired(route, System.nanoTime())) {
+            Lock readLock = lock.readLock();
+            readLock.lock();
+            try {
+                long now = System.nanoTime();
+                route = routes.get(index(source, target));
+                if (isExpired(route, now)) {
+                    route = computeRoute(source, target, now);
+                    routes.set(index(source, target), route);
+                }
+            } finally {
+                readLock.unlock();
+            }
+        }
+        return Optional.ofNullable(route.crossRoute());
+    }
+
+    @Override
+    public void markUnquoted(String sourceCurrency, String targetCurrency) {
+        int source = node(sourceCurrency);
+        int target = node(targetCurrency);
+        if (source >= 0 && target >= 0) {
+            // Zero means "not marked", so avoid landing on it by accident
+            unquotedUntil.set(index(source, target), (System.nanoTime() + maxAge.toNanos()) | 1L);
+        }
+    }
+
+    @Override
+    public boolean isUnquoted(String sourceCurrency, String targetCurrency) {
+        int source = node(sourceCurrency);
+        int target = node(targetCurrency);
+        if (!enabled || source < 0 || target < 0) {
+            return false;
+        }
+        long until = unquotedUntil.get(index(source, target));
+        return until != 0 && until - System.nanoTime() > 0;
+    }
+
+    private int node(String currency) {
+        int id = CurrencyRegistry.lookup(currency);
+        return id < 0 ? -1 : nodes[id];
+    }
+
+    private int index(int source, int target) {
+        return source * currencies.size() + target;
+    }
+
+    private static boolean isExpired(Route route, long now) {
+        return route == null || (route != Route.NONE && route.expiresAt() - now <= 0);
+    }
+
+    /**
+     * Drops the cached routes that use the changed edge and, when the edge got better,
+     * the ones it could now improve. A route from x to y through the edge is worth at
+     * most best(x, source) * edge * best(target, y), and the cached best routes are
+     * upper bounds of the current ones, so routes above that bound stay valid.
+     */
+    private void invalidate(int source, int target, double improvedValue) {
+        int size = currencies.size();
+        boolean[][] stale = new boolean[size][size];
+        for (int from = 0; from < size; from++) {
+            for (int to = 0; to < size; to++) {
+                Route route = routes.get(index(from, to));
+                if (route == null) {
+                    continue;
+                }
+                if (route.uses(source, target)) {
+                    stale[from][to] = true;
+                } else if (improvedValue > 0) {
+                    double bound = boundTo(from, source) * improvedValue * boundTo(target, to);
+                    stale[from][to] = bound > route.value();
+                }
+            }
+        }
+
+        int dropped = 0;
+        for (int from = 0; from < size; from++) {
+            for (int to = 0; to < size; to++) {
+                if (stale[from][to]) {
+                    routes.set(index(from, to), null);
+                    dropped++;
+                }
+            }
+        }
+        LOG.debugf("Edge %s->%s changed, dropped %d cached routes", currencies.get(source), currencies.get(target), dropped);
+    }
+
+    private double boundTo(int from, int to) {
+        if (from == to) {
+            return 1;
+        }
+        Route route = routes.get(index(from, to));
+        return route == null ? Double.POSITIVE_INFINITY : route.value();
+    }
+
+    private Route computeRoute(int source, int target, long now) {
+        int size = currencies.size();
+        Quote[][] edges = new Quote[size][size];
+        for (int from = 0; from < size; from++) {
+            for (int to = 0; to < size; to++) {
+                edges[from][to] = from == to ? null : bestQuote(from, to, now);
+            }
+        }
+
+        Search search = new Search(edges, target);
+        search.visit(source, 1 << source, 1.0, new int[maxHops + 1], 0);
+        if (search.bestPath == null) {
+            return Route.NONE;
+        }
+
+        int[] path = search.bestPath;
+        List<String> routeCurrencies = new ArrayList<>(path.length);
+        List<String> providers = new ArrayList<>(path.length - 1);
+        BigDecimal rate = BigDecimal.ONE;
+        long oldestQuote = edges[path[0]][path[1]].quotedAt();
+        routeCurrencies.add(currencies.get(path[0]));
+        for (int i = 1; i < path.length; i++) {
+            Quote quote = edges[path[i - 1]][path[i]];
+            routeCurrencies.add(currencies.get(path[i]));
+            providers.add(quote.provider());
+            rate = rate.multiply(quote.rate(), MathContext.DECIMAL64);
+            if (quote.quotedAt() - oldestQuote < 0) {
+                oldestQuote = quote.quotedAt();
+            }
+        }
+        return new Route(path, search.bestValue, oldestQuote + maxAge.toNanos(),
+                new CrossRoute(List.copyOf(routeCurrencies), List.copyOf(providers), rate));
+    }
+
+    private Quote bestQuote(int source, int target, long now) {
+        Map<String, Quote> providerQuotes = quotes[source][target];
+        if (providerQuotes == null) {
+            return null;
+        }
+        Quote best = null;
+        long maxAgeNanos = maxAge.toNanos();
+        for (Quote quote : providerQuotes.values()) {
+            if (now - quote.quotedAt() < maxAgeNanos && (best == null || quote.value() > best.value())) {
+                best = quote;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Depth-first enumeration of the simple paths from the source; with a handful of
+     * currencies and a small hop cap this is cheaper than any cleverer algorithm.
+     */
+    private final class Search {
+        private final Quote[][] edges;
+        private final int target;
+        private int[] bestPath;
+        private double bestValue;
+
+        Search(Quote[][] edges, int target) {
+            this.edges = edges;
+            this.target = target;
+        }
+
+        void visit(int node, int visited, double value, int[] path, int depth) {
+            path[depth] = node;
+            if (node == target) {
+                if (value > bestValue) {
+                    bestValue = value;
+                    bestPath = Arrays.copyOf(path, depth + 1);
+                }
+                return;
+            }
+            if (depth == maxHops) {
+                return;
+            }
+            for (int next = 0; next < edges.length; next++) {
+                Quote edge = edges[node][next];
+                if (edge != null && (visited & (1 << next)) == 0) {
+                    visit(next, visited | (1 << next), value * edge.value(), path, depth + 1);
+                }
+            }
+        }
+    }
+
+    private record Quote(String provider, BigDecimal rate, double value, long quotedAt) {}
+
+    private record Route(int[] path, double value, long expiresAt, CrossRoute crossRoute) {
+
+        // Cached "no route" answer; only an edge update can change it
+        static final Route NONE = new Route(new int[0], 0, 0, null);
+
+        boolean uses(int source, int target) {
+            for (int i = 1; i < path.length; i++) {
+                if (path[i - 1] == source && path[i] == target) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,19 +1,53 @@
 package com.currency.services.implementations;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.faulttolerance.exceptions.CircuitBreakerOpenException;
 import org.jboss.logging.Logger;
 import com.currency.dto.request.ExchangeRequest;
+import com.currency.dto.response.CrossRoute;
 import com.currency.dto.response.ExchangeResponse;
+import com.currency.dto.response.RateStreamEvent;
+import com.currency.dto.response.RequestTrace;
 import com.currency.exceptions.NoValidRateException;
+import com.currency.exceptions.OverloadedException;
+import com.currency.exceptions.ProviderFallbackException;
+import com.currency.exceptions.UnsupportedCurrencyException;
+import com.currency.jfr.AggregationEvent;
+import com.currency.services.contracts.IAggregationMetrics;
+import com.currency.services.contracts.IBatchExchangeProvider;
+import com.currency.services.contracts.IConcurrencyLimiter;
+import com.currency.services.contracts.ICrossRateEngine;
 import com.currency.services.contracts.IExchangeProvider;
 import com.currency.services.contracts.IExchangeRateService;
+import com.currency.services.contracts.IFlightRecorder;
+import com.currency.services.contracts.IHedgingPolicy;
+import com.currency.services.contracts.IMicroBatcher;
+import com.currency.services.contracts.IProviderCapabilities;
+import com.currency.services.contracts.IProviderLatencyTracker;
+import com.currency.services.contracts.IRateCache;
+import com.currency.services.contracts.IRatePrefetcher;
+import com.currency.services.contracts.IRateSnapshotStore;
+import com.currency.utils.CurrencyUtils;
+import com.currency.utils.Deadline;
+import com.currency.utils.FixedPoint;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.Comparator;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.TimeoutException;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
@@ -23,93 +57,653 @@ public class ExchangeRateService implements IExchangeRateService {
     
     private static final Logger LOG = Logger.getLogger(ExchangeRateService.class);
     
+    /** Provider name reported when the rate was derived from the rate graph. */
+    private static final String CROSS_RATE_PROVIDER = "CROSS";
+
     @Inject
     Instance<IExchangeProvider> providerInstance;
+
+    @Inject
+    IRateCache rateCache;
+
+    @Inject
+    IProviderLatencyTracker latencyTracker;
+
+    @Inject
+    IHedgingPolicy hedgingPolicy;
+
+    @Inject
+    IConcurrencyLimiter concurrencyLimiter;
+
+    @Inject
+    ICrossRateEngine crossRateEngine;
+
+    @Inject
+    IRateSnapshotStore snapshotStore;
+
+    @Inject
+    IRatePrefetcher ratePrefetcher;
+
+    @Inject
+    IProviderCapabilities capabilities;
+
+    @Inject
+    IMicroBatcher microBatcher;
+
+    @Inject
+    IFlightRecorder flightRecorder;
+
+    @Inject
+    IAggregationMetrics metrics;
+
+    /**
+     * Number of valid quotes after which the aggregation completes without waiting
+     * for the remaining providers. Zero (or any value not lower than the number of
+     * providers) waits for every provider.
+     */
+    @ConfigProperty(name = "exchange.aggregation.quorum", defaultValue = "0")
+    int quorum = 0;
+
+    /**
+     * Maximum time the aggregation waits for provider answers. When it runs out the
+     * best quote seen so far is returned and the pending calls are cancelled.
+     */
+    @ConfigProperty(name = "exchange.aggregation.latency-budget")
+    Optional<Duration> latencyBudget = Optional.empty();
+
+    /**
+     * Maximum number of distinct currency pairs of a batch resolved at the same time,
+     * which also bounds the concurrent calls a batch sends to each provider.
+     */
+    @ConfigProperty(name = "exchange.batch.max-concurrency", defaultValue = "8")
+    int batchMaxConcurrency = 8;
+
+    /**
+     * Converts amounts on scaled longs instead of BigDecimal intermediates. Results are
+     * identical, values that do not fit in a long fall back to BigDecimal.
+     */
+    @ConfigProperty(name = "exchange.aggregation.fixed-point", defaultValue = "true")
+    boolean fixedPoint = true;
     
     @Override
-    public Uni<ExchangeResponse> findBestExchangeRate(ExchangeRequest request) {
+    public Uni<ExchangeResponse> findBestExchangeRate(ExchangeRequest request, Deadline deadline) {
         
         // Validar entrada
         if (request == null) {
             return Uni.createFrom().failure(new IllegalArgumentException("Exchange request cannot be null"));
         }
+        Optional<UnsupportedCurrencyException> unsupported = checkCurrencies(request);
+        if (unsupported.isPresent()) {
+            return Uni.createFrom().failure(unsupported.get());
+        }
         
         List<IExchangeProvider> providers = providerInstance.stream().toList();
         if (providers.isEmpty()) {
             return Uni.createFrom().failure(new NoValidRateException("No exchange providers available"));
         }
+        if (deadline.isExpired()) {
+            return Uni.createFrom().failure(new TimeoutException());
+        }
         
-        LOG.infof("Processing exchange request with %d providers", providers.size());
         long startTime = System.nanoTime();
-        
-        List<Uni<ExchangeResponse>> providerUnis = providers.stream()
-                .map(provider -> callProviderSafely(provider, request))
+        ratePrefetcher.recordRequest(request.sourceCurrency(), request.targetCurrency());
+
+        // Pairs that no provider quotes are answered from the rate graph without calling upstream
+        if (crossRateEngine.isUnquoted(request.sourceCurrency(), request.targetCurrency())) {
+            Optional<CrossRoute> route = crossRateEngine.bestRoute(request.sourceCurrency(), request.targetCurrency());
+            if (route.isPresent()) {
+                LOG.debugf("Answering unquoted pair %s->%s through %s",
+                        request.sourceCurrency(), request.targetCurrency(), route.get().currencies());
+                return Uni.createFrom().item(fromCrossRoute(route.get(), request, startTime));
+            }
+        }
+
+        AggregationEvent aggregation = new AggregationEvent();
+        aggregation.begin();
+        Dispatch dispatch = selectProviders(providers, request);
+        if (dispatch.providers().isEmpty()) {
+            crossRateEngine.markUnquoted(request.sourceCurrency(), request.targetCurrency());
+        }
+
+        Uni<ExchangeResponse> live = dispatch.providers().isEmpty()
+                ? Uni.createFrom().failure(noProviderFor(request))
+                : awaitQuorum(callProviders(dispatch, request, deadline), aggregationBudget(deadline))
+                        .onItem().transform(results -> selectBest(results, dispatch, request, startTime, aggregation))
+                        .onItem().transform(response -> withBetterCrossRoute(response, request));
+        return live
+                .onFailure(NoValidRateException.class).recoverWithUni(e -> {
+                    Optional<ExchangeResponse> fallback = crossRateEngine
+                            .bestRoute(request.sourceCurrency(), request.targetCurrency())
+                            .map(route -> fromCrossRoute(route, request, startTime))
+                            .or(() -> snapshotStore.lastKnownGood(request.sourceCurrency(), request.targetCurrency())
+                                    .map(snapshot -> fromSnapshot(snapshot, request, startTime)));
+                    return fallback
+                            .map(response -> Uni.createFrom().item(response))
+                            .orElseGet(() -> Uni.createFrom().failure(e));
+                });
+    }
+
+    @Override
+    public Multi<RateStreamEvent> streamExchangeRates(ExchangeRequest request, Deadline deadline) {
+        if (request == null) {
+            return Multi.createFrom().failure(new IllegalArgumentException("Exchange request cannot be null"));
+        }
+        Optional<UnsupportedCurrencyException> unsupported = checkCurrencies(request);
+        if (unsupported.isPresent()) {
+            return Multi.createFrom().failure(unsupported.get());
+        }
+
+        List<IExchangeProvider> providers = providerInstance.stream().toList();
+        if (providers.isEmpty()) {
+            return Multi.createFrom().failure(new NoValidRateException("No exchange providers available"));
+        }
+        if (deadline.isExpired()) {
+            return Multi.createFrom().failure(new TimeoutException());
+        }
+
+        ratePrefetcher.recordRequest(request.sourceCurrency(), request.targetCurrency());
+        Dispatch dispatch = selectProviders(providers, request);
+        if (dispatch.providers().isEmpty()) {
+            crossRateEngine.markUnquoted(request.sourceCurrency(), request.targetCurrency());
+            return Multi.createFrom().failure(noProviderFor(request));
+        }
+
+        long startTime = System.nanoTime();
+        AggregationEvent aggregation = new AggregationEvent();
+        aggregation.begin();
+
+        List<ProviderResult> received = new CopyOnWriteArrayList<>();
+        Multi<ProviderResult> results = Multi.createBy().merging()
+                .streams(callProviders(dispatch, request, deadline).stream().map(Uni::toMulti).toList());
+        Optional<Duration> budget = aggregationBudget(deadline).filter(Duration::isPositive);
+        if (budget.isPresent()) {
+            results = results.select().first(budget.get());
+        }
+
+        // Each quote is pushed as soon as its provider answers, the best one closes the stream
+        return results
+                .onItem().invoke(received::add)
+                .select().where(result -> result.response() != null)
+                .onItem().transform(result -> new RateStreamEvent(RateStreamEvent.QUOTE, result.response()))
+                .onCompletion().switchTo(() -> Uni.createFrom()
+                        .item(() -> new RateStreamEvent(RateStreamEvent.BEST, selectBest(List.copyOf(received), dispatch, request, startTime, aggregation)))
+                        .toMulti());
+    }
+
+    /**
+     * Rejects currencies no provider could quote before anything is looked up or
+     * interned for them.
+     */
+    private Optional<UnsupportedCurrencyException> checkCurrencies(ExchangeRequest request) {
+        for (String currency : new String[] { request.sourceCurrency(), request.targetCurrency() }) {
+            if (!CurrencyUtils.isValidCurrency(currency)) {
+                return Optional.of(new UnsupportedCurrencyException("Unsupported currency: " + currency));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private NoValidRateException noProviderFor(ExchangeRequest request) {
+        return new NoValidRateException(
+                "No provider quotes " + request.sourceCurrency() + "->" + request.targetCurrency());
+    }
+
+    /**
+     * Keeps the providers able to quote the pair, then leaves out those whose recent
+     * tail latency would break the SLO, but never all of them. Providers that cannot
+     * quote the pair are not reported as skipped.
+     */
+    private Dispatch selectProviders(List<IExchangeProvider> providers, ExchangeRequest request) {
+        List<IExchangeProvider> capable = providers.stream()
+                .filter(provider -> capabilities.canQuote(provider, request.sourceCurrency(), request.targetCurrency()))
+                .toList();
+        List<IExchangeProvider> fastProviders = capable.stream()
+                .filter(provider -> !latencyTracker.shouldSkip(provider.name()))
+                .toList();
+        List<IExchangeProvider> dispatched = fastProviders.isEmpty() ? capable : fastProviders;
+        List<String> skipped = capable.stream()
+                .filter(provider -> !dispatched.contains(provider))
+                .map(IExchangeProvider::name)
                 .toList();
+        return new Dispatch(dispatched, skipped);
+    }
+
+    private List<Uni<ProviderResult>> callProviders(Dispatch dispatch, ExchangeRequest request, Deadline deadline) {
+        return dispatch.providers().stream()
+                .map(provider -> callProviderSafely(provider, request, deadline))
+                .toList();
+    }
         
-        return Uni.combine().all().unis(providerUnis)
-                .with(list -> {
-                    @SuppressWarnings("unchecked")
-                    List<ExchangeResponse> responses = (List<ExchangeResponse>) list;
-                    long totalTimeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    /**
+     * Picks the highest valid quote and records the trace of the aggregation.
+     */
+    private ExchangeResponse selectBest(List<ProviderResult> results, Dispatch dispatch, ExchangeRequest request,
+            long startTime, AggregationEvent aggregation) {
+        long totalNanos = System.nanoTime() - startTime;
                     
-                    List<ExchangeResponse> validResponses = responses.stream()
-                            .filter(Objects::nonNull)
-                            .filter(response -> response.rate() != null && response.rate().compareTo(BigDecimal.ZERO) > 0)
-                            .toList();
-                    
-                    LOG.infof("Received %d valid responses out of %d total", validResponses.size(), responses.size());
+        // Plain loops rather than stream pipelines, this runs for every request
+        ExchangeResponse best = null;
+        BigDecimal worst = null;
+        int quotes = 0;
+        int invalid = 0;
+        List<String> responded = new ArrayList<>(results.size());
+        List<RequestTrace.ProviderCall> calls = new ArrayList<>(dispatch.providers().size());
+        for (ProviderResult result : results) {
+            responded.add(result.provider());
+            calls.add(new RequestTrace.ProviderCall(result.provider(), result.outcome(),
+                    TimeUnit.NANOSECONDS.toMicros(result.latencyNanos())));
+            ExchangeResponse response = result.response();
+            if (response == null || response.rate() == null || response.rate().signum() <= 0) {
+                if (RequestTrace.INVALID.equals(result.outcome())) {
+                    invalid++;
+                }
+                continue;
+            }
+            quotes++;
+            if (best == null || response.rate().compareTo(best.rate()) > 0) {
+                best = response;
+            }
+            if (worst == null || response.rate().compareTo(worst) < 0) {
+                worst = response.rate();
+            }
+        }
+        List<String> cutOff = new ArrayList<>();
+        for (IExchangeProvider provider : dispatch.providers()) {
+            if (!responded.contains(provider.name())) {
+                cutOff.add(provider.name());
+                calls.add(new RequestTrace.ProviderCall(provider.name(), RequestTrace.CUT_OFF,
+                        TimeUnit.NANOSECONDS.toMicros(totalNanos)));
+            }
+        }
                     
-                    return validResponses.stream()
-                            .max(Comparator.comparing(ExchangeResponse::rate))
-                            .map(response -> withResponseTime(response, totalTimeMs))
-                            .orElseThrow(() -> {
-                                LOG.error("No valid rates available from any provider");
-                                return new NoValidRateException("No valid rates available from any provider");
-                            });
+        metrics.recordAggregation(totalNanos, best == null ? null : best.provider(), best == null ? null : best.rate(), worst);
+        flightRecorder.record(new RequestTrace(
+                Instant.now(),
+                request.sourceCurrency(),
+                request.targetCurrency(),
+                best == null ? RequestTrace.NO_VALID_RATE : RequestTrace.ANSWERED,
+                best == null ? null : best.provider(),
+                best == null ? null : best.rate(),
+                TimeUnit.NANOSECONDS.toMicros(totalNanos),
+                calls,
+                dispatch.skipped()));
+
+        aggregation.end();
+        if (aggregation.shouldCommit()) {
+            aggregation.sourceCurrency = request.sourceCurrency();
+            aggregation.targetCurrency = request.targetCurrency();
+            aggregation.providers = dispatch.providers().size();
+            aggregation.quotes = quotes;
+            aggregation.winner = best == null ? null : best.provider();
+            aggregation.outcome = best == null ? RequestTrace.NO_VALID_RATE : RequestTrace.ANSWERED;
+            aggregation.selectionNanos = System.nanoTime() - startTime - totalNanos;
+            aggregation.commit();
+        }
+
+        if (best == null) {
+            // Only a pair that every provider answered without a rate is unquoted, failures
+            // and cut-off calls say nothing about whether the pair can be quoted
+            if (invalid > 0 && invalid == dispatch.providers().size()) {
+                crossRateEngine.markUnquoted(request.sourceCurrency(), request.targetCurrency());
+            }
+            throw new NoValidRateException("No valid rates available from any provider");
+        }
+        return withAggregationInfo(best, TimeUnit.NANOSECONDS.toMillis(totalNanos), List.copyOf(responded),
+                List.copyOf(cutOff), dispatch.skipped());
+    }
+
+    /**
+     * Attaches the best triangulated route when it beats the direct quote. The direct
+     * quote is still the answer, the route is reported for the caller to act on.
+     */
+    private ExchangeResponse withBetterCrossRoute(ExchangeResponse response, ExchangeRequest request) {
+        return crossRateEngine.bestRoute(request.sourceCurrency(), request.targetCurrency())
+                .filter(route -> route.hops() > 1 && route.rate().compareTo(response.rate()) > 0)
+                .map(route -> {
+                    LOG.debugf("Route %s beats the direct %s quote of %s with %s",
+                            route.currencies(), response.provider(), response.rate(), route.rate());
+                    return new ExchangeResponse(
+                            response.provider(),
+                            response.rate(),
+                            response.convertedAmount(),
+                            response.responseTimeMs(),
+                            response.respondedProviders(),
+                            response.cutOffProviders(),
+                            response.skippedProviders(),
+                            route,
+                            response.stale(),
+                            response.quotedAt());
+                })
+                .orElse(response);
+    }
+
+    private ExchangeResponse fromCrossRoute(CrossRoute route, ExchangeRequest request, long startTime) {
+        return new ExchangeResponse(
+                CROSS_RATE_PROVIDER,
+                route.rate(),
+                convert(request.amount(), route.rate()),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime),
+                List.of(),
+                List.of(),
+                List.of(),
+                route,
+                false,
+                null);
+    }
+
+    /**
+     * Answers with the best last-known-good rate when every live source failed. The
+     * response is flagged as stale and carries the time of the original quote.
+     */
+    private ExchangeResponse fromSnapshot(IRateSnapshotStore.Snapshot snapshot, ExchangeRequest request, long startTime) {
+        LOG.warnf("Answering %s->%s with a stale %s rate quoted at %s",
+                request.sourceCurrency(), request.targetCurrency(), snapshot.provider(), snapshot.quotedAt());
+        return new ExchangeResponse(
+                snapshot.provider(),
+                snapshot.rate(),
+                convert(request.amount(), snapshot.rate()),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime),
+                List.of(),
+                List.of(),
+                List.of(),
+                null,
+                true,
+                snapshot.quotedAt());
+    }
+
+    @Override
+    public Uni<List<ExchangeResponse>> findBestExchangeRates(List<ExchangeRequest> requests, Deadline deadline) {
+        if (requests == null || requests.isEmpty()) {
+            return Uni.createFrom().item(List.of());
+        }
+
+        // Identical pairs share one aggregation, the amount is applied locally afterwards
+        Map<CurrencyPair, ExchangeRequest> uniquePairs = new LinkedHashMap<>();
+        for (ExchangeRequest request : requests) {
+            uniquePairs.putIfAbsent(CurrencyPair.of(request), request);
+        }
+
+        LOG.debugf("Processing batch of %d requests with %d distinct pairs", requests.size(), uniquePairs.size());
+
+        return Multi.createFrom().iterable(uniquePairs.entrySet())
+                .onItem().transformToUni(entry -> findBestExchangeRate(entry.getValue(), deadline)
+                        .onItem().transform(response -> new PairQuote(entry.getKey(), response))
+                        .onFailure(e -> e instanceof NoValidRateException || e instanceof TimeoutException
+                                || e instanceof UnsupportedCurrencyException).recoverWithItem(e -> {
+                            LOG.debugf("No valid rate for %s in batch: %s", entry.getKey(), e.getMessage());
+                            return new PairQuote(entry.getKey(), null);
+                        }))
+                .merge(Math.max(1, batchMaxConcurrency))
+                .collect().asList()
+                .onItem().transform(quotes -> {
+                    Map<CurrencyPair, ExchangeResponse> byPair = new HashMap<>();
+                    quotes.forEach(quote -> byPair.put(quote.pair(), quote.response()));
+
+                    List<ExchangeResponse> responses = new ArrayList<>(requests.size());
+                    for (ExchangeRequest request : requests) {
+                        responses.add(forAmount(byPair.get(CurrencyPair.of(request)), request.amount()));
+                    }
+                    return responses;
                 });
     }
+
+    /**
+     * Time the aggregation may wait for provider answers: the configured latency
+     * budget, trimmed to what is left of the deadline.
+     */
+    private Optional<Duration> aggregationBudget(Deadline deadline) {
+        Optional<Duration> budget = latencyBudget.filter(value -> !value.isZero() && !value.isNegative());
+        if (!deadline.isBounded()) {
+            return budget;
+        }
+        return Optional.of(budget.map(deadline::cap).orElseGet(deadline::remaining));
+    }
+
+    /**
+     * Subscribes to every provider call and completes as soon as the configured quorum
+     * of valid quotes is reached, the budget runs out, or every provider has answered.
+     * Calls still pending at that point are cancelled.
+     */
+    private Uni<List<ProviderResult>> awaitQuorum(List<Uni<ProviderResult>> providerUnis, Optional<Duration> budget) {
+        int expected = providerUnis.size();
+        int required = quorum <= 0 ? expected : Math.min(quorum, expected);
+
+        return Uni.createFrom().emitter(emitter -> {
+            Object lock = new Object();
+            List<ProviderResult> received = new ArrayList<>(expected);
+            // Guarded by lock, like everything below; emptied once the aggregation completes
+            List<Cancellable> subscriptions = new ArrayList<>(expected + 1);
+            boolean[] completed = { false };
+            int[] valid = { 0 };
+
+            Runnable cancelPending = () -> {
+                List<Cancellable> pending;
+                synchronized (lock) {
+                    pending = List.copyOf(subscriptions);
+                    subscriptions.clear();
+                }
+                pending.forEach(Cancellable::cancel);
+            };
+
+            // Subscriptions made after completion are cancelled right away instead of tracked
+            Consumer<Cancellable> track = subscription -> {
+                boolean late;
+                synchronized (lock) {
+                    late = completed[0];
+                    if (!late) {
+                        subscriptions.add(subscription);
+                    }
+                }
+                if (late) {
+                    subscription.cancel();
+                }
+            };
+
+            Runnable complete = () -> {
+                List<ProviderResult> snapshot;
+                synchronized (lock) {
+                    if (completed[0]) {
+                        return;
+                    }
+                    completed[0] = true;
+                    snapshot = List.copyOf(received);
+                }
+                // Cancelled before completing so the caller never sees calls still running
+                cancelPending.run();
+                emitter.complete(snapshot);
+            };
+
+            emitter.onTermination(() -> {
+                synchronized (lock) {
+                    completed[0] = true;
+                }
+                cancelPending.run();
+            });
+
+            budget.filter(Duration::isPositive)
+                    .ifPresent(delay -> track.accept(Uni.createFrom().voidItem()
+                            .onItem().delayIt().by(delay)
+                            .subscribe().with(ignored -> complete.run())));
+
+            for (Uni<ProviderResult> providerUni : providerUnis) {
+                synchronized (lock) {
+                    if (completed[0]) {
+                        break;
+                    }
+                }
+                track.accept(providerUni.subscribe().with(result -> {
+                    boolean done;
+                    synchronized (lock) {
+                        if (completed[0]) {
+                            return;
+                        }
+                        received.add(result);
+                        if (result.response() != null) {
+                            valid[0]++;
+                        }
+                        done = valid[0] >= required || received.size() == expected;
+                    }
+                    if (done) {
+                        complete.run();
+                    }
+                }));
+            }
+        });
+    }
     
-      private Uni<ExchangeResponse> callProviderSafely(IExchangeProvider provider, ExchangeRequest request) {
+    private Uni<ProviderResult> callProviderSafely(IExchangeProvider provider, ExchangeRequest request, Deadline deadline) {
         long startTime = System.nanoTime();
         
-        return provider.getExchangeRate(request)
+        // Providers are asked for the unit rate so one lookup serves every amount of the pair
+        ExchangeRequest unitRequest = new ExchangeRequest(request.sourceCurrency(), request.targetCurrency(), BigDecimal.ONE);
+
+        return rateCache.getExchangeRate(provider, unitRequest, deadline, loadDeadline -> timedCall(provider, unitRequest, loadDeadline))
                 .onItem().transform(rate -> {
+                    long latency = System.nanoTime() - startTime;
                     if (rate == null || rate.compareTo(BigDecimal.ZERO) <= 0) {
-                        LOG.warnf("Provider %s returned invalid rate: %s", provider.name(), rate);
-                        return null;
+                        LOG.debugf("Provider %s returned invalid rate: %s", provider.name(), rate);
+                        return new ProviderResult(provider.name(), null, RequestTrace.INVALID, latency);
                     }
                     
                     try {
-                        // Ensure proper scale for monetary calculations
-                        BigDecimal convertedAmount = request.amount()
-                                .multiply(rate)
-                                .setScale(2, RoundingMode.HALF_UP);
-                        
                         ExchangeResponse response = new ExchangeResponse(
                                 provider.name(),
                                 rate,
-                                convertedAmount,
-                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
-                        
-                        LOG.debugf("Provider %s returned rate: %s", provider.name(), rate);
-                        return response;
+                                convert(request.amount(), rate),
+                                TimeUnit.NANOSECONDS.toMillis(latency));
+                        return new ProviderResult(provider.name(), response, RequestTrace.QUOTED, latency);
                         
                     } catch (Exception e) {
                         LOG.errorf("Error processing response from provider %s: %s", provider.name(), e.getMessage());
-                        return null;
+                        return new ProviderResult(provider.name(), null, RequestTrace.FAILED, latency);
                     }
                 })
                 .onFailure().recoverWithItem(e -> {
-                    LOG.warnf("Error calling provider %s: %s", provider.name(), e.getMessage());
-                    return null;
+                    LOG.debugf("Error calling provider %s: %s", provider.name(), e.getMessage());
+                    return new ProviderResult(provider.name(), null, RequestTrace.FAILED, System.nanoTime() - startTime);
                 });
     }
     
-    private ExchangeResponse withResponseTime(ExchangeResponse response, long totalTimeMs) {
+    /**
+     * Calls the provider upstream under its concurrency limit, hedged when enabled and
+     * bounded by its adaptive timeout and the deadline, and feeds the observed latency
+     * back into the tracker and the call metrics.
+     */
+    private Uni<BigDecimal> timedCall(IExchangeProvider provider, ExchangeRequest unitRequest, Deadline deadline) {
+        if (deadline.isExpired()) {
+            return Uni.createFrom().failure(new TimeoutException());
+        }
+        long startTime = System.nanoTime();
+        Uni<BigDecimal> call = metrics.trackCall(provider.name(), concurrencyLimiter.limit(provider.name(), () -> {
+            // Inside the limit so that timeouts count against the provider
+            Optional<Duration> timeout = latencyTracker.timeoutFor(provider.name()).map(deadline::cap);
+            if (timeout.isEmpty() && deadline.isBounded()) {
+                timeout = Optional.of(deadline.remaining());
+            }
+            if (timeout.isPresent() && !timeout.get().isPositive()) {
+                // The deadline passed since the check above
+                return Uni.createFrom().failure(new TimeoutException());
+            }
+            Uni<BigDecimal> attempt = hedgingPolicy.hedge(provider.name(), () -> fetch(provider, unitRequest, deadline))
+                    .onItem().invoke(rate -> onLiveQuote(provider, unitRequest, rate))
+                    .onFailure(ExchangeRateService::isQuoteFailure).invoke(() -> capabilities.record(
+                            provider, unitRequest.sourceCurrency(), unitRequest.targetCurrency(), false));
+            return timeout.isPresent() ? attempt.ifNoItem().after(timeout.get()).fail() : attempt;
+        }));
+
+        // Calls turned away by the limiter never reached the provider and say nothing about its latency
+        return call.onTermination().invoke((rate, failure, cancelled) -> {
+            if (!cancelled && !(failure instanceof OverloadedException)) {
+                latencyTracker.record(provider.name(), System.nanoTime() - startTime);
+            }
+        });
+    }
+
+    /**
+     * Single upstream call, or a share of a multi-pair call for providers that batch.
+     */
+    private Uni<BigDecimal> fetch(IExchangeProvider provider, ExchangeRequest unitRequest, Deadline deadline) {
+        if (provider instanceof IBatchExchangeProvider batchProvider) {
+            return microBatcher.submit(batchProvider, unitRequest, deadline);
+        }
+        return provider.getExchangeRate(unitRequest, deadline);
+    }
+
+    private void onLiveQuote(IExchangeProvider provider, ExchangeRequest unitRequest, BigDecimal rate) {
+        boolean valid = rate != null && rate.compareTo(BigDecimal.ZERO) > 0;
+        capabilities.record(provider, unitRequest.sourceCurrency(), unitRequest.targetCurrency(), valid);
+        if (!valid) {
+            return;
+        }
+        crossRateEngine.update(provider.name(), unitRequest.sourceCurrency(), unitRequest.targetCurrency(), rate);
+        snapshotStore.record(provider.name(), unitRequest.sourceCurrency(), unitRequest.targetCurrency(), rate);
+    }
+
+    /**
+     * Whether a failed call says something about the pair. Timeouts, open circuit
+     * breakers and shed calls are about the provider or this service, not the pair,
+     * and a fallback answer hides which of these it replaced.
+     */
+    private static boolean isQuoteFailure(Throwable failure) {
+        return !(failure instanceof TimeoutException
+                || failure instanceof org.eclipse.microprofile.faulttolerance.exceptions.TimeoutException
+                || failure instanceof CircuitBreakerOpenException
+                || failure instanceof OverloadedException
+                || failure instanceof ProviderFallbackException);
+    }
+
+    /**
+     * Converted amount at two decimals rounded half-up, the monetary scale of every
+     * response.
+     */
+    private BigDecimal convert(BigDecimal amount, BigDecimal rate) {
+        if (fixedPoint) {
+            return FixedPoint.multiply(amount, rate, 2);
+        }
+        return amount.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private ExchangeResponse withAggregationInfo(ExchangeResponse response, long totalTimeMs,
+            List<String> respondedProviders, List<String> cutOffProviders, List<String> skippedProviders) {
         return new ExchangeResponse(
                 response.provider(),
                 response.rate(),
                 response.convertedAmount(),
-                totalTimeMs);
+                totalTimeMs,
+                respondedProviders,
+                cutOffProviders,
+                skippedProviders,
+                response.crossRoute(),
+                response.stale(),
+                response.quotedAt());
     }
-}
\ No newline at end of file
+
+    private ExchangeResponse forAmount(ExchangeResponse response, BigDecimal amount) {
+        if (response == null) {
+            return null;
+        }
+        return new ExchangeResponse(
+                response.provider(),
+                response.rate(),
+                convert(amount, response.rate()),
+                response.responseTimeMs(),
+                response.respondedProviders(),
+                response.cutOffProviders(),
+                response.skippedProviders(),
+                response.crossRoute(),
+                response.stale(),
+                response.quotedAt());
+    }
+
+    private record ProviderResult(String provider, ExchangeResponse response, String outcome, long latencyNanos) {}
+
+    private record Dispatch(List<IExchangeProvider> providers, List<String> skipped) {}
+
+    private record CurrencyPair(String sourceCurrency, String targetCurrency) {
+        static CurrencyPair of(ExchangeRequest request) {
+            return new CurrencyPair(request.sourceCurrency(), request.targetCurrency());
+        }
+    }
+
+    private record PairQuote(CurrencyPair pair, ExchangeResponse response) {}
+}
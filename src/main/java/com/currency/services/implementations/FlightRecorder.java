@@ -0,0 +1,92 @@
+package com.currency.services.implementations;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.currency.dto.response.RequestTrace;
+import com.currency.services.contracts.IFlightRecorder;
+import com.currency.utils.RingBuffer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Keeps the traces of the latest {@code exchange.trace.capacity} requests in memory
+ * in place of per-request log lines. A fraction {@code exchange.trace.log-sample-rate}
+ * of the traces is also logged, and requests without a valid rate are logged up to
+ * {@code exchange.trace.warn-per-second} times a second, so an outage does not flood
+ * the log; the ones skipped are counted in the next warning.
+ */
+@ApplicationScoped
+public class FlightRecorder implements IFlightRecorder {
+
+    private static final Logger LOG = Logger.getLogger(FlightRecorder.class);
+
+    @ConfigProperty(name = "exchange.trace.enabled", defaultValue = "true")
+    boolean enabled = true;
+
+    @ConfigProperty(name = "exchange.trace.capacity", defaultValue = "4096")
+    int capacity = 4096;
+
+    @ConfigProperty(name = "exchange.trace.log-sample-rate", defaultValue = "0.01")
+    double logSampleRate = 0.01;
+
+    @ConfigProperty(name = "exchange.trace.warn-per-second", defaultValue = "10")
+    int warnPerSecond = 10;
+
+    private final AtomicLong warnSecond = new AtomicLong();
+    private final AtomicInteger warnsThisSecond = new AtomicInteger();
+    private final AtomicLong suppressedWarns = new AtomicLong();
+
+    private RingBuffer<RequestTrace> traces;
+
+    @PostConstruct
+    public void init() {
+        traces = new RingBuffer<>(Math.max(1, capacity));
+    }
+
+    @Override
+    public void record(RequestTrace trace) {
+        if (RequestTrace.NO_VALID_RATE.equals(trace.outcome())) {
+            warn(trace);
+        } else if (logSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+            LOG.info(trace);
+        }
+        if (enabled) {
+            traces.add(trace);
+        }
+    }
+
+    private void warn(RequestTrace trace) {
+        long second = System.currentTimeMillis() / 1000;
+        long current = warnSecond.get();
+        if (current != second && warnSecond.compareAndSet(current, second)) {
+            warnsThisSecond.set(0);
+        }
+        if (warnsThisSecond.incrementAndGet() > warnPerSecond) {
+            suppressedWarns.incrementAndGet();
+            return;
+        }
+        long suppressed = suppressedWarns.getAndSet(0);
+        if (suppressed > 0) {
+            LOG.warnf("%s (%d more without a valid rate not logged)", trace, suppressed);
+        } else {
+            LOG.warn(trace);
+        }
+    }
+
+    @Override
+    public List<RequestTrace> recent(int limit) {
+        return traces.latest(limit);
+    }
+
+    @Override
+    public long recorded() {
+        return traces.written();
+    }
+}
@@ -0,0 +1,96 @@
+package com.currency.services.implementations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.currency.services.contracts.IHedgingPolicy;
+import com.currency.services.contracts.IProviderLatencyTracker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Hedges calls to the configured providers. Every primary call earns a fraction of
+ * a hedge token and every hedge spends a whole one, so hedges stay below
+ * {@code exchange.hedging.max-ratio} of the primary traffic across all providers.
+ */
+@ApplicationScoped
+public class HedgingPolicy implements IHedgingPolicy {
+
+    private static final long TOKEN = 1_000L;
+
+    @ConfigProperty(name = "exchange.hedging.providers")
+    Optional<List<String>> hedgedProviders = Optional.empty();
+
+    @ConfigProperty(name = "exchange.hedging.max-ratio", defaultValue = "0.05")
+    double maxRatio = 0.05;
+
+    @ConfigProperty(name = "exchange.hedging.max-burst", defaultValue = "10")
+    int maxBurst = 10;
+
+    @Inject
+    IProviderLatencyTracker latencyTracker;
+
+    @Inject
+    MeterRegistry registry;
+
+    private final AtomicLong tokens = new AtomicLong();
+
+    @Override
+    public <T> Uni<T> hedge(String provider, Supplier<Uni<T>> call) {
+        if (!hedgedProviders.map(providers -> providers.contains(provider)).orElse(false)) {
+            return call.get();
+        }
+
+        deposit();
+        Optional<Duration> delay = latencyTracker.percentile(provider, 0.95);
+        if (delay.isEmpty()) {
+            return call.get();
+        }
+
+        Uni<T> primary = call.get();
+        Uni<T> hedged = Uni.createFrom().voidItem()
+                .onItem().delayIt().by(delay.get())
+                .onItem().transformToUni(ignored -> {
+                    if (!tryAcquire()) {
+                        count(provider, "rejected");
+                        return Uni.createFrom().<T>nothing();
+                    }
+                    count(provider, "issued");
+                    return call.get().onItem().invoke(() -> count(provider, "won"));
+                });
+
+        // The first call to terminate wins and the other one is cancelled, so a primary
+        // that fails fast also drops the pending hedge
+        return Uni.join().first(primary, hedged).toTerminate();
+    }
+
+    private void deposit() {
+        long earned = (long) (maxRatio * TOKEN);
+        long cap = maxBurst * TOKEN;
+        tokens.getAndUpdate(current -> Math.min(cap, current + earned));
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            long current = tokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    private void count(String provider, String outcome) {
+        registry.counter("exchange.provider.hedges", "provider", provider, "outcome", outcome).increment();
+    }
+}
@@ -0,0 +1,170 @@
+package com.currency.services.implementations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.currency.dto.request.ExchangeRequest;
+import com.currency.services.contracts.IBatchExchangeProvider;
+import com.currency.services.contracts.IMicroBatcher;
+import com.currency.utils.Deadline;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Merges concurrent requests to the same provider into one multi-pair upstream call.
+ * The first request of a batch opens a window of {@code exchange.micro-batch.window};
+ * the batch is sent when the window closes or as soon as it holds
+ * {@code exchange.micro-batch.max-size} requests, whichever comes first. The merged
+ * call runs under the latest deadline of its requests, each request still gives up
+ * at its own. Requests cancelled while waiting are left out of the call.
+ */
+@ApplicationScoped
+public class MicroBatcher implements IMicroBatcher {
+
+    private static final Logger LOG = Logger.getLogger(MicroBatcher.class);
+
+    @ConfigProperty(name = "exchange.micro-batch.enabled", defaultValue = "false")
+    boolean enabled = false;
+
+    @ConfigProperty(name = "exchange.micro-batch.window", defaultValue = "5ms")
+    Duration window = Duration.ofMillis(5);
+
+    @ConfigProperty(name = "exchange.micro-batch.max-size", defaultValue = "50")
+    int maxSize = 50;
+
+    @Inject
+    MeterRegistry registry;
+
+    private final Map<String, Collector> collectors = new ConcurrentHashMap<>();
+
+    @Override
+    public Uni<BigDecimal> submit(IBatchExchangeProvider provider, ExchangeRequest request, Deadline deadline) {
+        if (!enabled || !provider.supportsBatch()) {
+            return provider.getExchangeRate(request, deadline);
+        }
+        Collector collector = collectors.get(provider.name());
+        if (collector == null) {
+            collector = collectors.computeIfAbsent(provider.name(), name -> new Collector(provider));
+        }
+        Collector target = collector;
+        return Uni.createFrom().emitter(emitter -> {
+            Waiter waiter = new Waiter(request, deadline, emitter);
+            // Also runs once the waiter completes, by then it is no longer looked at
+            emitter.onTermination(() -> waiter.cancelled = true);
+            target.add(waiter);
+        });
+    }
+
+    private final class Collector {
+        private final IBatchExchangeProvider provider;
+        private final DistributionSummary batchSize;
+        private List<Waiter> pending = new ArrayList<>();
+        // Identifies the open batch, so a window timer never flushes a later one
+        private long generation;
+
+        Collector(IBatchExchangeProvider provider) {
+            this.provider = provider;
+            this.batchSize = DistributionSummary.builder("exchange.micro-batch.size")
+                    .tag("provider", provider.name())
+                    .description("Requests sent in one upstream call")
+                    .register(registry);
+        }
+
+        void add(Waiter waiter) {
+            List<Waiter> full = null;
+            long opened = -1;
+            synchronized (this) {
+                pending.add(waiter);
+                if (pending.size() >= Math.max(1, maxSize)) {
+                    full = drain();
+                } else if (pending.size() == 1) {
+                    opened = generation;
+                }
+            }
+            if (full != null) {
+                flush(full, "size");
+            } else if (opened >= 0) {
+                long batch = opened;
+                Uni.createFrom().voidItem()
+                        .onItem().delayIt().by(window)
+                        .subscribe().with(ignored -> flushWindow(batch));
+            }
+        }
+
+        private void flushWindow(long batch) {
+            List<Waiter> expired;
+            synchronized (this) {
+                if (batch != generation || pending.isEmpty()) {
+                    return;
+                }
+                expired = drain();
+            }
+            flush(expired, "window");
+        }
+
+        private List<Waiter> drain() {
+            List<Waiter> drained = pending;
+            pending = new ArrayList<>();
+            generation++;
+            return drained;
+        }
+
+        private void flush(List<Waiter> batch, String reason) {
+            registry.counter("exchange.micro-batch.flushes", "provider", provider.name(), "reason", reason).increment();
+
+            List<Waiter> live = new ArrayList<>(batch.size());
+            for (Waiter waiter : batch) {
+                if (!waiter.cancelled) {
+                    live.add(waiter);
+                }
+            }
+            if (live.isEmpty()) {
+                return;
+            }
+            batchSize.record(live.size());
+
+            List<ExchangeRequest> requests = new ArrayList<>(live.size());
+            Deadline deadline = live.get(0).deadline;
+            for (Waiter waiter : live) {
+                requests.add(waiter.request);
+                deadline = deadline.orLater(waiter.deadline);
+            }
+
+            provider.getExchangeRates(requests, deadline).subscribe().with(
+                    rates -> {
+                        for (int i = 0; i < live.size(); i++) {
+                            live.get(i).emitter.complete(rates != null && i < rates.size() ? rates.get(i) : null);
+                        }
+                    },
+                    failure -> {
+                        LOG.debugf("Batch of %d requests to %s failed: %s", live.size(), provider.name(), failure.getMessage());
+                        live.forEach(waiter -> waiter.emitter.fail(failure));
+                    });
+        }
+    }
+
+    private static final class Waiter {
+        final ExchangeRequest request;
+        final Deadline deadline;
+        final UniEmitter<? super BigDecimal> emitter;
+        volatile boolean cancelled;
+
+        Waiter(ExchangeRequest request, Deadline deadline, UniEmitter<? super BigDecimal> emitter) {
+            this.request = request;
+            this.deadline = deadline;
+            this.emitter = emitter;
+        }
+    }
+}
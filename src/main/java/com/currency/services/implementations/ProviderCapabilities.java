@@ -0,0 +1,122 @@
+package com.currency.services.implementations;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.currency.services.contracts.IExchangeProvider;
+import com.currency.services.contracts.IProviderCapabilities;
+import com.currency.utils.CurrencyRegistry;
+import com.currency.utils.PairTable;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Declared provider capabilities plus what was learned at runtime. A provider that
+ * fails to quote a pair {@code exchange.capabilities.failure-threshold} times in a
+ * row is not called for it again for {@code exchange.capabilities.negative-ttl}.
+ * Failures only count while the provider quotes other pairs, so an upstream outage
+ * is left to the circuit breakers rather than marking every pair as unsupported.
+ */
+@ApplicationScoped
+public class ProviderCapabilities implements IProviderCapabilities {
+
+    private static final Logger LOG = Logger.getLogger(ProviderCapabilities.class);
+
+    @ConfigProperty(name = "exchange.capabilities.learning-enabled", defaultValue = "true")
+    boolean learningEnabled = true;
+
+    @ConfigProperty(name = "exchange.capabilities.failure-threshold", defaultValue = "3")
+    int failureThreshold = 3;
+
+    @ConfigProperty(name = "exchange.capabilities.negative-ttl", defaultValue = "10M")
+    Duration negativeTtl = Duration.ofMinutes(10);
+
+    @Inject
+    MeterRegistry registry;
+
+    private final Map<String, Learned> learned = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean canQuote(IExchangeProvider provider, String sourceCurrency, String targetCurrency) {
+        if (!provider.supports(sourceCurrency, targetCurrency)) {
+            return false;
+        }
+        if (!learningEnabled) {
+            return true;
+        }
+        int pair = CurrencyRegistry.pairKey(sourceCurrency, targetCurrency);
+        if (pair < 0) {
+            return true;
+        }
+        PairState state = learnedFor(provider.name()).pairs.get(pair);
+        if (state == null || state.unsupportedUntil == 0) {
+            return true;
+        }
+        if (System.nanoTime() - state.unsupportedUntil < 0) {
+            registry.counter("exchange.provider.capability.skipped", "provider", provider.name()).increment();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void record(IExchangeProvider provider, String sourceCurrency, String targetCurrency, boolean quoted) {
+        if (!learningEnabled) {
+            return;
+        }
+        int pair = CurrencyRegistry.pairKey(sourceCurrency, targetCurrency);
+        if (pair < 0) {
+            return;
+        }
+        Learned provided = learnedFor(provider.name());
+        long now = System.nanoTime();
+        if (quoted) {
+            provided.lastQuoted = now;
+            PairState state = provided.pairs.get(pair);
+            if (state != null) {
+                state.failures.set(0);
+                state.unsupportedUntil = 0;
+            }
+            return;
+        }
+
+        // Without a recent quote of any pair the provider itself is failing, not the pair
+        if (provided.lastQuoted == 0 || now - provided.lastQuoted > negativeTtl.toNanos()) {
+            return;
+        }
+        PairState state = provided.pairs.computeIfAbsent(pair, key -> new PairState());
+        if (state.failures.incrementAndGet() >= failureThreshold) {
+            state.failures.set(0);
+            // Zero means supported, nanoTime can be anything
+            state.unsupportedUntil = (now + negativeTtl.toNanos()) | 1;
+            registry.counter("exchange.provider.capability.learned", "provider", provider.name()).increment();
+            LOG.infof("Provider %s does not quote %s, skipping it for %s",
+                    provider.name(), CurrencyRegistry.describe(pair), negativeTtl);
+        }
+    }
+
+    private Learned learnedFor(String provider) {
+        Learned provided = learned.get(provider);
+        if (provided == null) {
+            provided = learned.computeIfAbsent(provider, name -> new Learned());
+        }
+        return provided;
+    }
+
+    private static final class Learned {
+        final PairTable<PairState> pairs = new PairTable<>();
+        volatile long lastQuoted;
+    }
+
+    private static final class PairState {
+        final AtomicInteger failures = new AtomicInteger();
+        volatile long unsupportedUntil;
+    }
+}
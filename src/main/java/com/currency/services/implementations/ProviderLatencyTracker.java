@@ -0,0 +1,149 @@
+package com.currency.services.implementations;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.currency.services.contracts.IProviderLatencyTracker;
+import com.currency.utils.LatencyHistogram;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Keeps a rolling latency histogram per provider and derives adaptive timeouts and
+ * skip decisions from it. A skipped provider still receives one probe call per
+ * probe interval so that its statistics recover once it becomes fast again.
+ */
+@ApplicationScoped
+public class ProviderLatencyTracker implements IProviderLatencyTracker {
+
+    private static final Logger LOG = Logger.getLogger(ProviderLatencyTracker.class);
+
+    private static final double[] PUBLISHED_QUANTILES = { 0.5, 0.95, 0.99 };
+
+    @ConfigProperty(name = "exchange.latency.adaptive.enabled", defaultValue = "true")
+    boolean enabled = true;
+
+    @ConfigProperty(name = "exchange.latency.window-slots", defaultValue = "6")
+    int windowSlots = 6;
+
+    @ConfigProperty(name = "exchange.latency.slot-duration", defaultValue = "10S")
+    Duration slotDuration = Duration.ofSeconds(10);
+
+    /**
+     * How often the percentiles read on the request path are recomputed from the
+     * window. They are also recomputed whenever a slot rotates.
+     */
+    @ConfigProperty(name = "exchange.latency.refresh-interval", defaultValue = "1S")
+    Duration refreshInterval = Duration.ofSeconds(1);
+
+    @ConfigProperty(name = "exchange.latency.min-samples", defaultValue = "20")
+    int minSamples = 20;
+
+    @ConfigProperty(name = "exchange.latency.timeout-multiplier", defaultValue = "2.0")
+    double timeoutMultiplier = 2.0;
+
+    @ConfigProperty(name = "exchange.latency.min-timeout", defaultValue = "200ms")
+    Duration minTimeout = Duration.ofMillis(200);
+
+    @ConfigProperty(name = "exchange.latency.max-timeout", defaultValue = "3S")
+    Duration maxTimeout = Duration.ofSeconds(3);
+
+    @ConfigProperty(name = "exchange.latency.slo", defaultValue = "2S")
+    Duration slo = Duration.ofSeconds(2);
+
+    @ConfigProperty(name = "exchange.latency.probe-interval", defaultValue = "5S")
+    Duration probeInterval = Duration.ofSeconds(5);
+
+    @Inject
+    MeterRegistry registry;
+
+    private final Map<String, ProviderStats> stats = new ConcurrentHashMap<>();
+
+    @Override
+    public void record(String provider, long latencyNanos) {
+        statsFor(provider).histogram.recordNanos(latencyNanos);
+    }
+
+    @Override
+    public Optional<Duration> percentile(String provider, double quantile) {
+        ProviderStats providerStats = stats.get(provider);
+        if (providerStats == null || providerStats.histogram.count() < minSamples) {
+            return Optional.empty();
+        }
+        long micros = providerStats.histogram.percentileMicros(quantile);
+        return micros < 0 ? Optional.empty() : Optional.of(Duration.ofNanos(micros * 1_000L));
+    }
+
+    @Override
+    public Optional<Duration> timeoutFor(String provider) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return percentile(provider, 0.99).map(p99 -> {
+            long millis = (long) Math.ceil(p99.toNanos() * timeoutMultiplier / 1_000_000.0);
+            return Duration.ofMillis(Math.min(Math.max(millis, minTimeout.toMillis()), maxTimeout.toMillis()));
+        });
+    }
+
+    @Override
+    public boolean shouldSkip(String provider) {
+        if (!enabled) {
+            return false;
+        }
+        Optional<Duration> p95 = percentile(provider, 0.95);
+        if (p95.isEmpty() || p95.get().compareTo(slo) <= 0) {
+            return false;
+        }
+
+        ProviderStats providerStats = statsFor(provider);
+        long now = System.nanoTime();
+        long lastProbe = providerStats.lastProbe.get();
+        if (now - lastProbe >= probeInterval.toNanos() && providerStats.lastProbe.compareAndSet(lastProbe, now)) {
+            LOG.debugf("Probing slow provider %s (p95 %d ms)", provider, p95.get().toMillis());
+            return false;
+        }
+
+        registry.counter("exchange.provider.skipped", "provider", provider).increment();
+        return true;
+    }
+
+    private ProviderStats statsFor(String provider) {
+        ProviderStats providerStats = stats.get(provider);
+        if (providerStats == null) {
+            providerStats = stats.computeIfAbsent(provider, this::createStats);
+        }
+        return providerStats;
+    }
+
+    private ProviderStats createStats(String provider) {
+        ProviderStats providerStats = new ProviderStats(
+                new LatencyHistogram(windowSlots, slotDuration.toMillis(), refreshInterval.toMillis()),
+                new AtomicLong(System.nanoTime() - probeInterval.toNanos()));
+
+        for (double quantile : PUBLISHED_QUANTILES) {
+            Gauge.builder("exchange.provider.latency", providerStats.histogram,
+                    histogram -> Math.max(histogram.percentileMicros(quantile), 0) / 1_000.0)
+                    .tag("provider", provider)
+                    .tag("quantile", String.valueOf(quantile))
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        }
+        Gauge.builder("exchange.provider.timeout", this,
+                tracker -> tracker.timeoutFor(provider).map(Duration::toMillis).orElse(0L))
+                .tag("provider", provider)
+                .baseUnit("milliseconds")
+                .register(registry);
+        return providerStats;
+    }
+
+    private record ProviderStats(LatencyHistogram histogram, AtomicLong lastProbe) {}
+}
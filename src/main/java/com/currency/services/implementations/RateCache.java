@@ -0,0 +1,269 @@
+package com.currency.services.implementations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.currency.dto.request.ExchangeRequest;
+import com.currency.services.contracts.IExchangeProvider;
+import com.currency.services.contracts.IRateCache;
+import com.currency.utils.CurrencyRegistry;
+import com.currency.utils.Deadline;
+import com.currency.utils.PairTable;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Per (provider, source, target) rate cache. Fresh entries are served directly,
+ * entries past their TTL but inside the stale window are served while a single
+ * background refresh runs, and concurrent misses share one upstream call. Entries
+ * live in a {@link PairTable} cell per currency pair holding one entry per provider,
+ * so a lookup is an array load plus a scan over a handful of providers. Entries keep
+ * the loader of their last request so they can be refreshed ahead of expiry.
+ */
+@ApplicationScoped
+public class RateCache implements IRateCache {
+
+    private static final Logger LOG = Logger.getLogger(RateCache.class);
+
+    @ConfigProperty(name = "exchange.cache.enabled", defaultValue = "true")
+    boolean enabled = true;
+
+    @ConfigProperty(name = "exchange.cache.ttl", defaultValue = "30S")
+    Duration ttl = Duration.ofSeconds(30);
+
+    @ConfigProperty(name = "exchange.cache.stale-while-revalidate", defaultValue = "60S")
+    Duration staleWhileRevalidate = Duration.ofSeconds(60);
+
+    @ConfigProperty(name = "exchange.cache.max-size", defaultValue = "10000")
+    int maxSize = 10_000;
+
+    @Inject
+    MeterRegistry registry;
+
+    private final PairTable<Entry[]> entries = new PairTable<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    @PostConstruct
+    void registerGauges() {
+        registry.gauge("exchange.rate.cache.size", Tags.empty(), size);
+    }
+
+    @Override
+    public Uni<BigDecimal> getExchangeRate(IExchangeProvider provider, ExchangeRequest request, Deadline deadline,
+            Function<Deadline, Uni<BigDecimal>> loader) {
+        int pair = enabled ? CurrencyRegistry.pairKey(request.sourceCurrency(), request.targetCurrency()) : -1;
+        if (pair < 0) {
+            return loader.apply(deadline);
+        }
+
+        long now = System.nanoTime();
+        Entry entry = entryFor(pair, provider.name());
+        entry.lastAccess = now;
+        entry.loader = loader;
+
+        CachedRate cached = entry.value;
+        if (cached != null) {
+            long age = now - cached.loadedAt();
+            if (age < ttl.toNanos()) {
+                count(entry, "hit");
+                countSaved(entry, cached, now);
+                return Uni.createFrom().item(cached.rate());
+            }
+            if (age < ttl.toNanos() + staleWhileRevalidate.toNanos()) {
+                count(entry, "stale");
+                refreshInBackground(entry, loader);
+                return Uni.createFrom().item(cached.rate());
+            }
+        }
+
+        count(entry, "miss");
+        return load(entry, () -> loader.apply(deadline), false);
+    }
+
+    @Override
+    public Optional<Duration> timeToExpiry(IExchangeProvider provider, ExchangeRequest request) {
+        Entry entry = find(provider, request);
+        if (entry == null || entry.loader == null || entry.inflight.get() != null) {
+            return Optional.empty();
+        }
+        CachedRate cached = entry.value;
+        if (cached == null) {
+            return Optional.of(Duration.ZERO);
+        }
+        return Optional.of(Duration.ofNanos(cached.loadedAt() + ttl.toNanos() - System.nanoTime()));
+    }
+
+    @Override
+    public Uni<BigDecimal> refresh(IExchangeProvider provider, ExchangeRequest request) {
+        Entry entry = find(provider, request);
+        Function<Deadline, Uni<BigDecimal>> loader = entry == null ? null : entry.loader;
+        if (loader == null) {
+            return Uni.createFrom().nullItem();
+        }
+        return load(entry, () -> loader.apply(Deadline.none()), true);
+    }
+
+    private Entry find(IExchangeProvider provider, ExchangeRequest request) {
+        int pair = enabled ? CurrencyRegistry.pairKey(request.sourceCurrency(), request.targetCurrency()) : -1;
+        Entry[] candidates = pair < 0 ? null : entries.get(pair);
+        if (candidates != null) {
+            for (Entry candidate : candidates) {
+                if (candidate.provider.equals(provider.name())) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Entry entryFor(int pair, String provider) {
+        while (true) {
+            Entry[] current = entries.get(pair);
+            if (current != null) {
+                for (Entry candidate : current) {
+                    if (candidate.provider.equals(provider)) {
+                        return candidate;
+                    }
+                }
+            }
+
+            Entry created = new Entry(provider, pair);
+            Entry[] updated = current == null ? new Entry[] { created } : Arrays.copyOf(current, current.length + 1);
+            updated[updated.length - 1] = created;
+            if (entries.compareAndSet(pair, current, updated)) {
+                size.incrementAndGet();
+                evictIfNeeded();
+                return created;
+            }
+        }
+    }
+
+    private Uni<BigDecimal> load(Entry entry, Supplier<Uni<BigDecimal>> loader, boolean prefetch) {
+        while (true) {
+            Uni<BigDecimal> inflight = entry.inflight.get();
+            if (inflight != null) {
+                return inflight;
+            }
+
+            Uni<BigDecimal> created = Uni.createFrom().deferred(loader::get)
+                    .onItem().invoke(rate -> {
+                        if (rate != null) {
+                            entry.value = cachedRate(entry.value, rate, prefetch);
+                        }
+                    })
+                    .onTermination().invoke(() -> entry.inflight.set(null))
+                    .memoize().indefinitely();
+
+            if (entry.inflight.compareAndSet(null, created)) {
+                return created;
+            }
+        }
+    }
+
+    private void refreshInBackground(Entry entry, Function<Deadline, Uni<BigDecimal>> loader) {
+        if (entry.inflight.get() != null) {
+            return;
+        }
+        registry.counter("exchange.rate.cache.refreshes", "provider", entry.provider).increment();
+        load(entry, () -> loader.apply(Deadline.none()), false).subscribe().with(
+                rate -> LOG.debugf("Refreshed cached rate %s", entry),
+                failure -> LOG.warnf("Background refresh failed for %s: %s", entry, failure.getMessage()));
+    }
+
+    private CachedRate cachedRate(CachedRate previous, BigDecimal rate, boolean prefetch) {
+        long now = System.nanoTime();
+        if (!prefetch) {
+            return new CachedRate(rate, now, null);
+        }
+        // A hit only saves an upstream call once the value it replaced would have expired
+        long replacedExpiry = previous == null ? now : previous.loadedAt() + ttl.toNanos();
+        return new CachedRate(rate, now, new Prefetch(replacedExpiry, new AtomicBoolean()));
+    }
+
+    private void countSaved(Entry entry, CachedRate cached, long now) {
+        Prefetch prefetch = cached.prefetch();
+        if (prefetch != null && now - prefetch.replacedExpiry() >= 0 && prefetch.used().compareAndSet(false, true)) {
+            registry.counter("exchange.prefetch.saved", "provider", entry.provider).increment();
+        }
+    }
+
+    private void evictIfNeeded() {
+        while (size.get() > maxSize) {
+            Entry[] oldest = { null };
+            entries.forEach((pair, candidates) -> {
+                for (Entry candidate : candidates) {
+                    if (candidate.inflight.get() == null
+                            && (oldest[0] == null || candidate.lastAccess < oldest[0].lastAccess)) {
+                        oldest[0] = candidate;
+                    }
+                }
+            });
+            if (oldest[0] == null || !remove(oldest[0])) {
+                return;
+            }
+            registry.counter("exchange.rate.cache.evictions").increment();
+        }
+    }
+
+    private boolean remove(Entry entry) {
+        while (true) {
+            Entry[] current = entries.get(entry.pair);
+            int index = current == null ? -1 : Arrays.asList(current).indexOf(entry);
+            if (index < 0) {
+                return false;
+            }
+            Entry[] updated = null;
+            if (current.length > 1) {
+                updated = new Entry[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, index);
+                System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+            }
+            if (entries.compareAndSet(entry.pair, current, updated)) {
+                size.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    private void count(Entry entry, String result) {
+        registry.counter("exchange.rate.cache.requests", "provider", entry.provider, "result", result).increment();
+    }
+
+    private record CachedRate(BigDecimal rate, long loadedAt, Prefetch prefetch) {}
+
+    private record Prefetch(long replacedExpiry, AtomicBoolean used) {}
+
+    private static final class Entry {
+        final String provider;
+        final int pair;
+        final AtomicReference<Uni<BigDecimal>> inflight = new AtomicReference<>();
+        volatile CachedRate value;
+        volatile Function<Deadline, Uni<BigDecimal>> loader;
+        volatile long lastAccess = System.nanoTime();
+
+        Entry(String provider, int pair) {
+            this.provider = provider;
+            this.pair = pair;
+        }
+
+        @Override
+        public String toString() {
+            return provider + " " + CurrencyRegistry.describe(pair);
+        }
+    }
+}
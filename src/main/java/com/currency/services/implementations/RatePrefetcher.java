@@ -0,0 +1,265 @@
+package com.currency.services.implementations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.currency.dto.request.ExchangeRequest;
+import com.currency.services.contracts.IExchangeProvider;
+import com.currency.services.contracts.IRateCache;
+import com.currency.services.contracts.IRatePrefetcher;
+import com.currency.utils.CurrencyRegistry;
+import com.currency.utils.FrequencySketch;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+/**
+ * Keeps the most requested pairs warm in the rate cache. Request counts go into a
+ * count-min sketch that is halved every {@code exchange.prefetch.decay-interval};
+ * on every tick the {@code top-k} pairs by estimate are re-ranked and each of their
+ * cached provider rates that is about to expire is reloaded through the cache.
+ *
+ * <p>A rate becomes due between {@code lead} and {@code lead + spread} before its
+ * expiry, at a fixed point per provider and pair, so rates loaded together are not
+ * refreshed together. Each provider additionally gets at most
+ * {@code max-calls-per-second} refreshes; whatever does not fit waits for the next
+ * tick.
+ */
+@ApplicationScoped
+public class RatePrefetcher implements IRatePrefetcher {
+
+    private static final Logger LOG = Logger.getLogger(RatePrefetcher.class);
+
+    private static final int SKETCH_WIDTH = 4096;
+
+    @ConfigProperty(name = "exchange.prefetch.enabled", defaultValue = "true")
+    boolean enabled = true;
+
+    @ConfigProperty(name = "exchange.prefetch.top-k", defaultValue = "32")
+    int topK = 32;
+
+    @ConfigProperty(name = "exchange.prefetch.min-hits", defaultValue = "5")
+    int minHits = 5;
+
+    @ConfigProperty(name = "exchange.prefetch.interval", defaultValue = "1S")
+    Duration interval = Duration.ofSeconds(1);
+
+    @ConfigProperty(name = "exchange.prefetch.lead", defaultValue = "5S")
+    Duration lead = Duration.ofSeconds(5);
+
+    @ConfigProperty(name = "exchange.prefetch.spread", defaultValue = "10S")
+    Duration spread = Duration.ofSeconds(10);
+
+    @ConfigProperty(name = "exchange.prefetch.max-calls-per-second", defaultValue = "5")
+    double maxCallsPerSecond = 5;
+
+    @ConfigProperty(name = "exchange.prefetch.decay-interval", defaultValue = "60S")
+    Duration decayInterval = Duration.ofSeconds(60);
+
+    @ConfigProperty(name = "exchange.cache.ttl", defaultValue = "30S")
+    Duration cacheTtl = Duration.ofSeconds(30);
+
+    @Inject
+    Instance<IExchangeProvider> providerInstance;
+
+    @Inject
+    IRateCache rateCache;
+
+    @Inject
+    MeterRegistry registry;
+
+    private final FrequencySketch sketch = new FrequencySketch(SKETCH_WIDTH);
+    // One bit per pair requested since the last tick, the candidates for the hot set
+    private final AtomicLongArray requested = new AtomicLongArray(CurrencyRegistry.PAIRS / Long.SIZE);
+    private volatile int[] hotPairs = new int[0];
+
+    // Only touched by the scheduler thread
+    private final Map<String, RateLimit> rateLimits = new HashMap<>();
+    private long lastDecay = System.nanoTime();
+    private ScheduledExecutorService scheduler;
+    private Timer lag;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder("exchange.prefetch.pairs", this, prefetcher -> prefetcher.hotPairs.length)
+                .description("Pairs currently kept warm by the prefetcher")
+                .register(registry);
+        lag = Timer.builder("exchange.prefetch.lag")
+                .description("Time between the expiry of a cached rate and its refresh, zero when refreshed ahead")
+                .register(registry);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-prefetcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, interval.toMillis());
+        scheduler.scheduleWithFixedDelay(this::tick, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public void recordRequest(String sourceCurrency, String targetCurrency) {
+        if (!enabled) {
+            return;
+        }
+        int pair = CurrencyRegistry.pairKey(sourceCurrency, targetCurrency);
+        if (pair < 0) {
+            return;
+        }
+        sketch.increment(pair);
+
+        int word = pair / Long.SIZE;
+        long bit = 1L << pair;
+        if ((requested.get(word) & bit) == 0) {
+            requested.getAndUpdate(word, bits -> bits | bit);
+        }
+    }
+
+    void tick() {
+        try {
+            long now = System.nanoTime();
+            if (now - lastDecay >= decayInterval.toNanos()) {
+                sketch.halve();
+                lastDecay = now;
+            }
+            hotPairs = rankHotPairs();
+            refreshExpiring(now);
+        } catch (RuntimeException e) {
+            // An exception would cancel the schedule for good
+            LOG.errorf("Prefetch run failed: %s", e.getMessage());
+        }
+    }
+
+    /**
+     * Re-ranks the current hot pairs together with every pair requested since the
+     * last tick and keeps the {@code top-k} with at least {@code min-hits}.
+     */
+    int[] rankHotPairs() {
+        Set<Integer> candidates = new LinkedHashSet<>();
+        for (int pair : hotPairs) {
+            candidates.add(pair);
+        }
+        for (int word = 0; word < requested.length(); word++) {
+            long bits = requested.get(word) == 0 ? 0 : requested.getAndSet(word, 0);
+            while (bits != 0) {
+                candidates.add(word * Long.SIZE + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+
+        // Estimates are taken once, concurrent increments must not reorder the sort
+        long[] ranked = new long[candidates.size()];
+        int count = 0;
+        for (int pair : candidates) {
+            int estimate = sketch.estimate(pair);
+            if (estimate >= minHits) {
+                ranked[count++] = (long) estimate << 32 | pair;
+            }
+        }
+        Arrays.sort(ranked, 0, count);
+
+        int[] hot = new int[Math.min(count, Math.max(0, topK))];
+        for (int i = 0; i < hot.length; i++) {
+            hot[i] = (int) ranked[count - 1 - i];
+        }
+        return hot;
+    }
+
+    private void refreshExpiring(long now) {
+        for (int pair : hotPairs) {
+            ExchangeRequest unitRequest = new ExchangeRequest(
+                    CurrencyRegistry.nameOf(CurrencyRegistry.sourceOf(pair)),
+                    CurrencyRegistry.nameOf(CurrencyRegistry.targetOf(pair)),
+                    BigDecimal.ONE);
+            for (IExchangeProvider provider : providerInstance) {
+                Optional<Duration> remaining = rateCache.timeToExpiry(provider, unitRequest);
+                if (remaining.isEmpty() || remaining.get().toNanos() >= dueBefore(provider.name(), pair)) {
+                    continue;
+                }
+                if (!rateLimits.computeIfAbsent(provider.name(), name -> new RateLimit(now)).tryAcquire(now)) {
+                    count(provider.name(), "throttled");
+                    continue;
+                }
+
+                lag.record(Math.max(0, -remaining.get().toNanos()), TimeUnit.NANOSECONDS);
+                rateCache.refresh(provider, unitRequest).subscribe().with(
+                        rate -> count(provider.name(), "success"),
+                        failure -> {
+                            count(provider.name(), "failure");
+                            LOG.debugf("Prefetch of %s from %s failed: %s",
+                                    CurrencyRegistry.describe(pair), provider.name(), failure.getMessage());
+                        });
+            }
+        }
+    }
+
+    /**
+     * How long before expiry the rate of the pair becomes due: {@code lead} plus a
+     * fixed share of {@code spread} derived from the provider and pair, capped at half
+     * the cache TTL so that a refreshed rate is not due again straight away.
+     */
+    private long dueBefore(String provider, int pair) {
+        int hash = (pair * 31 + provider.hashCode()) * 0x9E3779B9;
+        hash ^= hash >>> 16;
+        long offset = (long) (spread.toNanos() * ((hash & 0xFFFF) / 65536.0));
+        return Math.min(lead.toNanos() + offset, cacheTtl.toNanos() / 2);
+    }
+
+    private void count(String provider, String result) {
+        registry.counter("exchange.prefetch.refreshes", "provider", provider, "result", result).increment();
+    }
+
+    /**
+     * Token bucket refilled at {@code max-calls-per-second} holding at most one
+     * second worth of calls.
+     */
+    private final class RateLimit {
+        private double tokens;
+        private long refilledAt;
+
+        RateLimit(long now) {
+            this.tokens = Math.max(1, maxCallsPerSecond);
+            this.refilledAt = now;
+        }
+
+        boolean tryAcquire(long now) {
+            double capacity = Math.max(1, maxCallsPerSecond);
+            tokens = Math.min(capacity, tokens + (now - refilledAt) / 1e9 * maxCallsPerSecond);
+            refilledAt = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.currency.services.implementations;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.currency.services.contracts.IRateSnapshotStore;
+
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Last-known-good rate per provider and pair, mirrored into a memory-mapped file so
+ * that it survives restarts. Reads are served from memory; the background flusher
+ * copies changed entries into fixed-size slots of the file.
+ *
+ * <p>File layout: a 16 byte header (magic, version, slot size, slot count) followed
+ * by {@code slot count} slots of 64 bytes. A slot holds a CRC32 of the rest of the
+ * slot, a used flag, the provider name (up to 16 ASCII bytes), the two currency
+ * codes, the rate as unscaled long and scale, and the quote time in epoch millis.
+ * Slots whose checksum does not match, for example after a crash mid-write, are
+ * ignored on load.
+ */
+@Startup
+@ApplicationScoped
+public class RateSnapshotStore implements IRateSnapshotStore {
+
+    private static final Logger LOG = Logger.getLogger(RateSnapshotStore.class);
+
+    private static final int MAGIC = 0x58525331; // "XRS1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int SLOT_SIZE = 64;
+    private static final int MAX_PROVIDER_LENGTH = 16;
+
+    private static final int CRC_OFFSET = 0;
+    private static final int USED_OFFSET = 4;
+    private static final int PROVIDER_LENGTH_OFFSET = 5;
+    private static final int PROVIDER_OFFSET = 6;
+    private static final int SOURCE_OFFSET = PROVIDER_OFFSET + MAX_PROVIDER_LENGTH;
+    private static final int TARGET_OFFSET = SOURCE_OFFSET + 3;
+    private static final int UNSCALED_OFFSET = TARGET_OFFSET + 3;
+    private static final int SCALE_OFFSET = UNSCALED_OFFSET + 8;
+    private static final int QUOTED_AT_OFFSET = SCALE_OFFSET + 4;
+
+    @ConfigProperty(name = "exchange.snapshot.enabled", defaultValue = "true")
+    boolean enabled = true;
+
+    @ConfigProperty(name = "exchange.snapshot.path", defaultValue = "rate-snapshot.bin")
+    Path path = Path.of("rate-snapshot.bin");
+
+    @ConfigProperty(name = "exchange.snapshot.max-entries", defaultValue = "4096")
+    int maxEntries = 4096;
+
+    @ConfigProperty(name = "exchange.snapshot.max-age", defaultValue = "1H")
+    Duration maxAge = Duration.ofHours(1);
+
+    @ConfigProperty(name = "exchange.snapshot.flush-interval", defaultValue = "1S")
+    Duration flushInterval = Duration.ofSeconds(1);
+
+    private final Map<SlotKey, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<SlotKey> dirty = ConcurrentHashMap.newKeySet();
+
+    // Only touched while opening and by the flusher thread afterwards
+    private final Map<SlotKey, Integer> slots = new ConcurrentHashMap<>();
+    private final List<Integer> freeSlots = new ArrayList<>();
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    public void open() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            map();
+        } catch (IOException | RuntimeException e) {
+            LOG.errorf("Cannot open rate snapshot %s, running without it: %s", path, e.getMessage());
+            closeChannel();
+            return;
+        }
+        LOG.infof("Loaded %d rate snapshots from %s in %d ms",
+                entries.size(), path, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-snapshot-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, flushInterval.toMillis());
+        flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        buffer.force();
+        closeChannel();
+    }
+
+    @Override
+    public void record(String provider, String sourceCurrency, String targetCurrency, BigDecimal rate) {
+        if (!enabled || rate == null || rate.signum() <= 0) {
+            return;
+        }
+        SlotKey key = new SlotKey(provider, sourceCurrency, targetCurrency);
+        entries.put(key, new Entry(rate, System.currentTimeMillis()));
+        dirty.add(key);
+    }
+
+    @Override
+    public Optional<Snapshot> lastKnownGood(String sourceCurrency, String targetCurrency) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        long oldest = System.currentTimeMillis() - maxAge.toMillis();
+        return entries.entrySet().stream()
+                .filter(entry -> entry.getKey().sourceCurrency().equals(sourceCurrency)
+                        && entry.getKey().targetCurrency().equals(targetCurrency)
+                        && entry.getValue().quotedAt() >= oldest)
+                .max(Comparator.comparing(entry -> entry.getValue().rate()))
+                .map(entry -> new Snapshot(entry.getKey().provider(), entry.getValue().rate(),
+                        Instant.ofEpochMilli(entry.getValue().quotedAt())));
+    }
+
+    /**
+     * Writes the entries changed since the last flush into their slots. Runs on the
+     * flusher thread, and once more when the store is closed.
+     */
+    synchronized void flush() {
+        if (buffer == null) {
+            return;
+        }
+        for (SlotKey key : List.copyOf(dirty)) {
+            dirty.remove(key);
+            Entry entry = entries.get(key);
+            if (entry == null || !fits(key, entry)) {
+                continue;
+            }
+            Integer slot = slots.get(key);
+            if (slot == null) {
+                slot = allocateSlot();
+                slots.put(key, slot);
+            }
+            writeSlot(slot, key, entry);
+        }
+    }
+
+    private void map() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = HEADER_SIZE + (long) maxEntries * SLOT_SIZE;
+
+        // Carry the entries of a file written with a different layout or capacity over
+        List<Loaded> loaded = List.of();
+        boolean sameLayout = false;
+        if (channel.size() >= HEADER_SIZE) {
+            MappedByteBuffer existing = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (existing.getInt(0) == MAGIC && existing.getInt(4) == VERSION && existing.getInt(8) == SLOT_SIZE) {
+                int count = (int) Math.min(existing.getInt(12), (channel.size() - HEADER_SIZE) / SLOT_SIZE);
+                loaded = readSlots(existing, count);
+                sameLayout = count == maxEntries && channel.size() == size;
+            } else {
+                LOG.warnf("Ignoring rate snapshot %s with an unknown layout", path);
+            }
+        }
+
+        if (!sameLayout) {
+            channel.truncate(0);
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, SLOT_SIZE);
+        buffer.putInt(12, maxEntries);
+
+        boolean[] used = new boolean[maxEntries];
+        int next = 0;
+        for (Loaded snapshot : loaded) {
+            int slot = sameLayout ? snapshot.slot() : next++;
+            if (slot >= maxEntries || used[slot] || slots.containsKey(snapshot.key())) {
+                continue;
+            }
+            used[slot] = true;
+            slots.put(snapshot.key(), slot);
+            entries.put(snapshot.key(), snapshot.entry());
+            if (!sameLayout) {
+                writeSlot(slot, snapshot.key(), snapshot.entry());
+            }
+        }
+        for (int slot = maxEntries - 1; slot >= 0; slot--) {
+            if (!used[slot]) {
+                freeSlots.add(slot);
+            }
+        }
+    }
+
+    private List<Loaded> readSlots(ByteBuffer source, int count) {
+        List<Loaded> loaded = new ArrayList<>();
+        byte[] slotBytes = new byte[SLOT_SIZE];
+        for (int slot = 0; slot < count; slot++) {
+            source.get(HEADER_SIZE + slot * SLOT_SIZE, slotBytes);
+            ByteBuffer slotBuffer = ByteBuffer.wrap(slotBytes);
+            if (slotBuffer.get(USED_OFFSET) != 1 || slotBuffer.getInt(CRC_OFFSET) != checksum(slotBytes)) {
+                continue;
+            }
+            int providerLength = Math.min(slotBuffer.get(PROVIDER_LENGTH_OFFSET), MAX_PROVIDER_LENGTH);
+            SlotKey key = new SlotKey(
+                    new String(slotBytes, PROVIDER_OFFSET, providerLength, StandardCharsets.US_ASCII),
+                    new String(slotBytes, SOURCE_OFFSET, 3, StandardCharsets.US_ASCII),
+                    new String(slotBytes, TARGET_OFFSET, 3, StandardCharsets.US_ASCII));
+            BigDecimal rate = BigDecimal.valueOf(slotBuffer.getLong(UNSCALED_OFFSET), slotBuffer.getInt(SCALE_OFFSET));
+            loaded.add(new Loaded(slot, key, new Entry(rate, slotBuffer.getLong(QUOTED_AT_OFFSET))));
+        }
+        return loaded;
+    }
+
+    private void writeSlot(int slot, SlotKey key, Entry entry) {
+        byte[] slotBytes = new byte[SLOT_SIZE];
+        ByteBuffer slotBuffer = ByteBuffer.wrap(slotBytes);
+        byte[] provider = key.provider().getBytes(StandardCharsets.US_ASCII);
+        slotBuffer.put(USED_OFFSET, (byte) 1);
+        slotBuffer.put(PROVIDER_LENGTH_OFFSET, (byte) provider.length);
+        slotBuffer.put(PROVIDER_OFFSET, provider);
+        slotBuffer.put(SOURCE_OFFSET, key.sourceCurrency().getBytes(StandardCharsets.US_ASCII));
+        slotBuffer.put(TARGET_OFFSET, key.targetCurrency().getBytes(StandardCharsets.US_ASCII));
+        slotBuffer.putLong(UNSCALED_OFFSET, entry.rate().unscaledValue().longValueExact());
+        slotBuffer.putInt(SCALE_OFFSET, entry.rate().scale());
+        slotBuffer.putLong(QUOTED_AT_OFFSET, entry.quotedAt());
+        slotBuffer.putInt(CRC_OFFSET, checksum(slotBytes));
+        buffer.put(HEADER_SIZE + slot * SLOT_SIZE, slotBytes);
+    }
+
+    /**
+     * Takes a free slot or, when the file is full, the slot of the oldest entry.
+     */
+    private int allocateSlot() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.remove(freeSlots.size() - 1);
+        }
+        SlotKey oldest = slots.keySet().stream()
+                .min(Comparator.comparingLong(key -> entries.get(key).quotedAt()))
+                .orElseThrow();
+        entries.remove(oldest);
+        return slots.remove(oldest);
+    }
+
+    private static boolean fits(SlotKey key, Entry entry) {
+        return key.provider().length() <= MAX_PROVIDER_LENGTH
+                && key.sourceCurrency().length() == 3
+                && key.targetCurrency().length() == 3
+                && entry.rate().unscaledValue().bitLength() < Long.SIZE
+                && !entry.rate().unscaledValue().equals(BigInteger.ZERO);
+    }
+
+    private static int checksum(byte[] slotBytes) {
+        CRC32 crc = new CRC32();
+        crc.update(slotBytes, USED_OFFSET, SLOT_SIZE - USED_OFFSET);
+        return (int) crc.getValue();
+    }
+
+    private void closeChannel() {
+        buffer = null;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOG.warnf("Cannot close rate snapshot %s: %s", path, e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
+    private record SlotKey(String provider, String sourceCurrency, String targetCurrency) {}
+
+    private record Entry(BigDecimal rate, long quotedAt) {}
+
+    private record Loaded(int slot, SlotKey key, Entry entry) {}
+}
@@ -0,0 +1,63 @@
+package com.currency.services.implementations;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.currency.services.contracts.IRetryBudgets;
+import com.currency.utils.RetryBudget;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * One {@link RetryBudget} per provider, so that the retries of all requests to a
+ * provider together stay below {@code exchange.retry.budget-ratio} of its successful
+ * calls.
+ */
+@ApplicationScoped
+public class RetryBudgets implements IRetryBudgets {
+
+    @ConfigProperty(name = "exchange.retry.enabled", defaultValue = "true")
+    boolean enabled = true;
+
+    @ConfigProperty(name = "exchange.retry.budget-ratio", defaultValue = "0.1")
+    double budgetRatio = 0.1;
+
+    @ConfigProperty(name = "exchange.retry.budget-max-burst", defaultValue = "10")
+    int budgetMaxBurst = 10;
+
+    @Inject
+    MeterRegistry registry;
+
+    private final Map<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+
+    @Override
+    public RetryBudget forProvider(String provider) {
+        RetryBudget budget = budgets.get(provider);
+        if (budget == null) {
+            budget = budgets.computeIfAbsent(provider, this::createBudget);
+        }
+        return budget;
+    }
+
+    private RetryBudget createBudget(String provider) {
+        RetryBudget budget = enabled ? new RetryBudget(budgetRatio, budgetMaxBurst) : RetryBudget.unlimited();
+        Gauge.builder("exchange.provider.retry.budget", budget, RetryBudget::available)
+                .tag("provider", provider)
+                .description("Retry tokens left")
+                .register(registry);
+        FunctionCounter.builder("exchange.provider.retries", budget, RetryBudget::granted)
+                .tag("provider", provider)
+                .register(registry);
+        FunctionCounter.builder("exchange.provider.retry.budget.exhausted", budget, RetryBudget::rejected)
+                .tag("provider", provider)
+                .description("Retries dropped because the budget was empty")
+                .register(registry);
+        return budget;
+    }
+}
@@ -0,0 +1,149 @@
+package com.currency.services.implementations;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.currency.exceptions.OverloadedException;
+import com.currency.services.contracts.IWorkerPool;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import io.vertx.core.Context;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Fixed pool of {@code exchange.worker-pool.size} threads with a queue of
+ * {@code exchange.worker-pool.queue} tasks for the CPU-bound stages of provider
+ * calls, so they do not hold up the Vert.x event loop that completed the upstream
+ * call. A full queue fails the stage instead of running it on the caller, which
+ * would block the loop all the same.
+ *
+ * <p>Every stage is timed in {@code exchange.provider.stage} with a {@code thread}
+ * tag of {@code event-loop}, {@code worker} or {@code other}; the {@code event-loop}
+ * series is the time the stage blocked an I/O thread.
+ */
+@ApplicationScoped
+public class WorkerPool implements IWorkerPool {
+
+    static final String EVENT_LOOP = "event-loop";
+    static final String WORKER = "worker";
+    static final String OTHER = "other";
+
+    @ConfigProperty(name = "exchange.worker-pool.size", defaultValue = "4")
+    int size = 4;
+
+    @ConfigProperty(name = "exchange.worker-pool.queue", defaultValue = "256")
+    int queueSize = 256;
+
+    @Inject
+    MeterRegistry registry;
+
+    private ThreadPoolExecutor executor;
+    private Timer queueWait;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), runnable -> {
+                    Thread thread = new Thread(runnable, "exchange-worker-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        ExecutorServiceMetrics.monitor(registry, executor, "exchange.worker-pool");
+        queueWait = Timer.builder("exchange.worker-pool.queue.wait")
+                .description("Time provider stages waited for a worker thread")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public <T> Uni<T> run(String provider, String stage, boolean offload, Callable<T> work) {
+        if (!offload) {
+            return Uni.createFrom().item(() -> timed(provider, stage, work));
+        }
+        return Uni.createFrom().emitter(emitter -> {
+            Task<T> task = new Task<>(provider, stage, work, emitter);
+            emitter.onTermination(() -> task.cancelled = true);
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                registry.counter("exchange.worker-pool.rejected", "provider", provider, "stage", stage).increment();
+                emitter.fail(new OverloadedException("Worker pool queue is full", Duration.ZERO));
+            }
+        });
+    }
+
+    private <T> T timed(String provider, String stage, Callable<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Stage " + stage + " of " + provider + " failed", e);
+        } finally {
+            registry.timer("exchange.provider.stage", "provider", provider, "stage", stage, "thread", threadKind())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    static String threadKind() {
+        if (Context.isOnEventLoopThread()) {
+            return EVENT_LOOP;
+        }
+        return Thread.currentThread().getName().startsWith("exchange-worker-") ? WORKER : OTHER;
+    }
+
+    private final class Task<T> implements Runnable {
+        private final String provider;
+        private final String stage;
+        private final Callable<T> work;
+        private final UniEmitter<? super T> emitter;
+        private final long queuedAt = System.nanoTime();
+        volatile boolean cancelled;
+
+        Task(String provider, String stage, Callable<T> work, UniEmitter<? super T> emitter) {
+            this.provider = provider;
+            this.stage = stage;
+            this.work = work;
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void run() {
+            queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+            // Cancelled while queued, typically because the request no longer needs it
+            if (cancelled) {
+                return;
+            }
+            T result;
+            try {
+                result = timed(provider, stage, work);
+            } catch (Throwable failure) {
+                emitter.fail(failure);
+                return;
+            }
+            emitter.complete(result);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.currency.utils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit adjusted by additive increase, multiplicative decrease. Every
+ * call that completes below the latency threshold while the limit is at least half
+ * used raises it by {@code 1 / limit}, about one per round of calls; a dropped or
+ * slow call multiplies it by the backoff ratio, at most once per latency threshold,
+ * so a burst of calls failing together backs off once rather than once per call.
+ * The limit stays within its bounds.
+ */
+public final class AimdLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private double limit;
+    private volatile int currentLimit;
+    private long decreasedAt;
+    private boolean decreased;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, Duration latencyThreshold) {
+        if (minLimit < 1 || maxLimit < minLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Invalid AIMD limit bounds or backoff ratio");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.limit = Math.min(Math.max(initialLimit, minLimit), maxLimit);
+        this.currentLimit = (int) limit;
+    }
+
+    /**
+     * Takes a permit when fewer calls than the limit are in flight.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= currentLimit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns a permit and adjusts the limit from the outcome of the call.
+     */
+    public void release(long latencyNanos, boolean dropped) {
+        int inflightBefore = inflight.getAndDecrement();
+        if (dropped || latencyNanos > latencyThresholdNanos) {
+            decrease();
+        } else if (inflightBefore * 2 >= currentLimit) {
+            increase();
+        }
+    }
+
+    /**
+     * Returns a permit without adjusting the limit, for calls that were cancelled.
+     */
+    public void release() {
+        inflight.decrementAndGet();
+    }
+
+    public int limit() {
+        return currentLimit;
+    }
+
+    public int inflight() {
+        return inflight.get();
+    }
+
+    private synchronized void increase() {
+        limit = Math.min(maxLimit, limit + 1.0 / limit);
+        currentLimit = (int) limit;
+    }
+
+    private synchronized void decrease() {
+        long now = System.nanoTime();
+        if (decreased && now - decreasedAt < latencyThresholdNanos) {
+            return;
+        }
+        decreased = true;
+        decreasedAt = now;
+        limit = Math.max(minLimit, limit * backoffRatio);
+        currentLimit = (int) limit;
+    }
+}
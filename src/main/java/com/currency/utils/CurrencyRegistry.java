@@ -0,0 +1,122 @@
+package com.currency.utils;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Compact identifiers for ISO-4217 currency codes. A three letter code is encoded
+ * into a 15 bit value ({@code 26^3} codes) without allocating, and every code seen
+ * is interned into a dense id below {@link #MAX_CURRENCIES}. Two dense ids make a
+ * pair key below {@link #PAIRS} that indexes {@link PairTable}s directly.
+ */
+public final class CurrencyRegistry {
+
+    public static final int MAX_CURRENCIES = 256;
+    public static final int PAIRS = MAX_CURRENCIES * MAX_CURRENCIES;
+
+    static final int CODES = 26 * 26 * 26;
+
+    // Dense id + 1 per encoded code, zero while the code has not been interned
+    private static final AtomicIntegerArray IDS = new AtomicIntegerArray(CODES);
+    private static final AtomicReferenceArray<String> NAMES = new AtomicReferenceArray<>(MAX_CURRENCIES);
+    private static final Object LOCK = new Object();
+    private static int count;
+
+    private CurrencyRegistry() {
+    }
+
+    /**
+     * Encodes a three letter code, in either case, or returns -1 when it is not one.
+     */
+    public static int encode(CharSequence currency) {
+        if (currency == null || currency.length() != 3) {
+            return -1;
+        }
+        int code = 0;
+        for (int i = 0; i < 3; i++) {
+            int letter = (currency.charAt(i) | 0x20) - 'a';
+            if (letter < 0 || letter >= 26) {
+                return -1;
+            }
+            code = code * 26 + letter;
+        }
+        return code;
+    }
+
+    public static String decode(int code) {
+        if (code < 0 || code >= CODES) {
+            throw new IllegalArgumentException("Invalid currency code " + code);
+        }
+        return new String(new char[] {
+            (char) ('A' + code / 676),
+            (char) ('A' + code / 26 % 26),
+            (char) ('A' + code % 26)
+        });
+    }
+
+    /**
+     * Dense id of the currency, interning it on first sight. Returns -1 for invalid
+     * codes and once {@link #MAX_CURRENCIES} currencies have been interned.
+     */
+    public static int idOf(CharSequence currency) {
+        int code = encode(currency);
+        return code < 0 ? -1 : idOfCode(code);
+    }
+
+    public static int idOfCode(int code) {
+        int id = IDS.get(code) - 1;
+        if (id >= 0) {
+            return id;
+        }
+        synchronized (LOCK) {
+            id = IDS.get(code) - 1;
+            if (id >= 0) {
+                return id;
+            }
+            if (count == MAX_CURRENCIES) {
+                return -1;
+            }
+            id = count++;
+            NAMES.set(id, decode(code));
+            IDS.set(code, id + 1);
+            return id;
+        }
+    }
+
+    /**
+     * Dense id of an already interned currency, or -1.
+     */
+    public static int lookup(CharSequence currency) {
+        int code = encode(currency);
+        return code < 0 ? -1 : IDS.get(code) - 1;
+    }
+
+    public static String nameOf(int id) {
+        return NAMES.get(id);
+    }
+
+    /**
+     * Pair key of the two currencies, or -1 when either cannot be interned.
+     */
+    public static int pairKey(CharSequence sourceCurrency, CharSequence targetCurrency) {
+        int source = idOf(sourceCurrency);
+        int target = idOf(targetCurrency);
+        return source < 0 || target < 0 ? -1 : pairKey(source, target);
+    }
+
+    public static int pairKey(int sourceId, int targetId) {
+        return sourceId << 8 | targetId;
+    }
+
+    public static int sourceOf(int pairKey) {
+        return pairKey >>> 8;
+    }
+
+    public static int targetOf(int pairKey) {
+        return pairKey & 0xff;
+    }
+
+    public static String describe(int pairKey) {
+        return nameOf(sourceOf(pairKey)) + "->" + nameOf(targetOf(pairKey));
+    }
+}
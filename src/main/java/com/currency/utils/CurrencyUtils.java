@@ -1,15 +1,39 @@
 package com.currency.utils;
 
+import java.util.List;
 import java.util.Set;
 
 public class CurrencyUtils {
     
-    private static final Set<String> CURRENCIES = Set.of(
+    private static final List<String> CURRENCY_CODES = List.of(
         "USD", "EUR", "GBP", "JPY", "CHF", "CAD", "AUD", "NZD", "DOP"
     );
     
+    private static final Set<String> CURRENCY_SET = Set.copyOf(CURRENCY_CODES);
+    
+    // Indexed by CurrencyRegistry.encode, so checking a code allocates nothing
+    private static final boolean[] SUPPORTED = new boolean[CurrencyRegistry.CODES];
+    
+    static {
+        for (String currency : CURRENCY_CODES) {
+            SUPPORTED[CurrencyRegistry.encode(currency)] = true;
+        }
+    }
+    
     public static boolean isValidCurrency(String currency) {
-        return currency != null && CURRENCIES.contains(currency.toUpperCase());
+        int code = CurrencyRegistry.encode(currency);
+        return code >= 0 && SUPPORTED[code];
+    }
+    
+    /**
+     * Supported currency codes in a stable order.
+     */
+    public static List<String> currencies() {
+        return CURRENCY_CODES;
+    }
+    
+    public static Set<String> currencySet() {
+        return CURRENCY_SET;
     }
     
-}
\ No newline at end of file
+}
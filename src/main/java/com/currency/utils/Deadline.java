@@ -0,0 +1,82 @@
+package com.currency.utils;
+
+import java.time.Duration;
+
+/**
+ * Point in time by which the caller needs an answer, carried from the resource down
+ * to every provider call so that timeouts can be trimmed to the time that is left.
+ * Based on {@link System#nanoTime()}, so it only has meaning inside this process.
+ */
+public final class Deadline {
+
+    private static final Deadline NONE = new Deadline(0, false);
+    private static final Duration FOREVER = Duration.ofNanos(Long.MAX_VALUE);
+
+    private final long expiresAt;
+    private final boolean bounded;
+
+    private Deadline(long expiresAt, boolean bounded) {
+        this.expiresAt = expiresAt;
+        this.bounded = bounded;
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos(), true);
+    }
+
+    /**
+     * No deadline; only the per-call timeouts apply.
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    /**
+     * Time left, zero once expired, or practically forever without a deadline.
+     */
+    public Duration remaining() {
+        if (!bounded) {
+            return FOREVER;
+        }
+        return Duration.ofNanos(Math.max(0, expiresAt - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return bounded && expiresAt - System.nanoTime() <= 0;
+    }
+
+    /**
+     * The shorter of the timeout and the time left, zero once expired. Callers arming
+     * a timer check the result rather than {@link #isExpired()} beforehand, as the
+     * deadline may pass in between.
+     */
+    public Duration cap(Duration timeout) {
+        if (!bounded) {
+            return timeout;
+        }
+        Duration remaining = remaining();
+        return remaining.compareTo(timeout) < 0 ? remaining : timeout;
+    }
+
+    /**
+     * Whichever of the two deadlines leaves more time.
+     */
+    public Deadline orLater(Deadline other) {
+        if (!bounded) {
+            return this;
+        }
+        if (!other.bounded) {
+            return other;
+        }
+        return expiresAt - other.expiresAt >= 0 ? this : other;
+    }
+
+    @Override
+    public String toString() {
+        return bounded ? "Deadline[" + remaining().toMillis() + " ms left]" : "Deadline[none]";
+    }
+}
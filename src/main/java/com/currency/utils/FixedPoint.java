@@ -0,0 +1,105 @@
+package com.currency.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Decimal arithmetic on scaled {@code long}s: a value is its unscaled digits plus a
+ * scale, like {@link BigDecimal} but without the objects. Every operation gives the
+ * exact same result as its BigDecimal counterpart and reports {@link #OVERFLOW} when
+ * the result does not fit, so callers can fall back to BigDecimal.
+ */
+public final class FixedPoint {
+
+    /** Marker for values that do not fit; never a valid unscaled value here. */
+    public static final long OVERFLOW = Long.MIN_VALUE;
+
+    private static final int MAX_DIGITS = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_DIGITS; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private FixedPoint() {
+    }
+
+    /**
+     * Unscaled digits of the value, or {@link #OVERFLOW} when it has more than 18.
+     */
+    public static long unscaled(BigDecimal value) {
+        if (value.precision() > MAX_DIGITS) {
+            return OVERFLOW;
+        }
+        // Rescaling to zero keeps the compact form, so unlike unscaledValue() no BigInteger is built
+        return value.scale() == 0 ? value.longValue() : value.scaleByPowerOfTen(value.scale()).longValue();
+    }
+
+    /**
+     * {@code a * b} rounded half-up to the given scale, the same as
+     * {@code a.multiply(b).setScale(scale, RoundingMode.HALF_UP)}, or
+     * {@link #OVERFLOW} when an intermediate value does not fit in a long.
+     */
+    public static long multiply(long a, int aScale, long b, int bScale, int scale) {
+        if (a == OVERFLOW || b == OVERFLOW) {
+            return OVERFLOW;
+        }
+        long high = Math.multiplyHigh(a, b);
+        long product = a * b;
+        if (high != (product >> 63) || product == OVERFLOW) {
+            return OVERFLOW;
+        }
+        return rescale(product, (long) aScale + bScale, scale);
+    }
+
+    /**
+     * {@code amount * rate} at the given scale rounded half-up, on longs when both fit
+     * and through BigDecimal otherwise. The result is identical either way.
+     */
+    public static BigDecimal multiply(BigDecimal amount, BigDecimal rate, int scale) {
+        long result = multiply(unscaled(amount), amount.scale(), unscaled(rate), rate.scale(), scale);
+        if (result == OVERFLOW) {
+            return amount.multiply(rate).setScale(scale, RoundingMode.HALF_UP);
+        }
+        return BigDecimal.valueOf(result, scale);
+    }
+
+    private static long rescale(long value, long fromScale, int toScale) {
+        long shift = fromScale - toScale;
+        if (shift <= 0) {
+            return multiplyByPowerOfTen(value, -shift);
+        }
+        if (shift > MAX_DIGITS) {
+            // |value| < 10^19, so it can only round to zero or one unit
+            if (shift > MAX_DIGITS + 1) {
+                return 0;
+            }
+            long half = 5 * POWERS_OF_TEN[MAX_DIGITS];
+            return Math.abs(value) >= half ? Long.signum(value) : 0;
+        }
+        long divisor = POWERS_OF_TEN[(int) shift];
+        long quotient = value / divisor;
+        long remainder = Math.abs(value % divisor);
+        if (remainder >= divisor - remainder) {
+            quotient += Long.signum(value);
+        }
+        return quotient;
+    }
+
+    private static long multiplyByPowerOfTen(long value, long exponent) {
+        if (value == 0) {
+            return 0;
+        }
+        if (exponent > MAX_DIGITS) {
+            return OVERFLOW;
+        }
+        long power = POWERS_OF_TEN[(int) exponent];
+        long high = Math.multiplyHigh(value, power);
+        long result = value * power;
+        return high != (result >> 63) || result == OVERFLOW ? OVERFLOW : result;
+    }
+}
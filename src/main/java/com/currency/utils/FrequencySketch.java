@@ -0,0 +1,70 @@
+package com.currency.utils;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Count-min sketch of how often each key was seen. Every key maps to one counter in
+ * each of the rows and its estimate is the smallest of them, so estimates never
+ * undercount and only overcount when all rows collide. {@link #halve()} ages the
+ * counts so that the sketch follows recent popularity rather than all-time totals.
+ */
+public final class FrequencySketch {
+
+    private static final int ROWS = 4;
+    private static final int[] SEEDS = { 0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F };
+
+    private final AtomicIntegerArray counters;
+    private final int mask;
+
+    /**
+     * @param width counters per row, rounded up to a power of two
+     */
+    public FrequencySketch(int width) {
+        if (width < 1) {
+            throw new IllegalArgumentException("Sketch width must be positive");
+        }
+        int rowSize = Integer.highestOneBit(Math.max(1, width - 1)) << 1;
+        this.mask = rowSize - 1;
+        this.counters = new AtomicIntegerArray(ROWS * rowSize);
+    }
+
+    /**
+     * Counts one occurrence of the key and returns its new estimate.
+     */
+    public int increment(int key) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < ROWS; row++) {
+            int index = indexOf(key, row);
+            int value = counters.get(index);
+            if (value < Integer.MAX_VALUE) {
+                value = counters.incrementAndGet(index);
+            }
+            estimate = Math.min(estimate, value);
+        }
+        return estimate;
+    }
+
+    public int estimate(int key) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < ROWS; row++) {
+            estimate = Math.min(estimate, counters.get(indexOf(key, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Halves every counter. Increments racing with it may be halved or not, which is
+     * within the error the sketch has anyway.
+     */
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, value -> value >>> 1);
+        }
+    }
+
+    private int indexOf(int key, int row) {
+        int hash = key * SEEDS[row];
+        hash ^= hash >>> 16;
+        return row * (mask + 1) + (hash & mask);
+    }
+}
@@ -0,0 +1,200 @@
+package com.currency.utils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Rolling latency histogram with log-linear buckets in the style of HdrHistogram:
+ * values below 32 microseconds are counted exactly and larger values fall into one
+ * of 16 sub-buckets per power of two, which bounds the relative error to about 6%.
+ * The window is split into slots that are recycled as time moves on, so percentiles
+ * only reflect the most recent {@code slots * slotMillis} of samples.
+ *
+ * <p>Reads are served from a snapshot of the merged window, rebuilt when a slot
+ * rotates or the refresh interval has passed, so samples recorded since the last
+ * refresh are not visible yet.
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 32;
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAGNITUDES = 32;
+    private static final int BUCKETS = LINEAR_BUCKETS + MAGNITUDES * SUB_BUCKETS;
+    private static final long MAX_VALUE = upperBound(BUCKETS - 1);
+
+    private final long slotNanos;
+    private final long refreshNanos;
+    private final Slot[] slots;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+
+    /**
+     * Histogram whose snapshot is only rebuilt when a slot rotates.
+     */
+    public LatencyHistogram(int slots, long slotMillis) {
+        this(slots, slotMillis, slotMillis);
+    }
+
+    public LatencyHistogram(int slots, long slotMillis, long refreshMillis) {
+        if (slots < 1 || slotMillis < 1) {
+            throw new IllegalArgumentException("Histogram needs at least one slot of at least one millisecond");
+        }
+        if (refreshMillis < 0) {
+            throw new IllegalArgumentException("Refresh interval cannot be negative");
+        }
+        this.slotNanos = slotMillis * 1_000_000L;
+        this.refreshNanos = refreshMillis * 1_000_000L;
+        this.slots = new Slot[slots];
+        for (int i = 0; i < slots; i++) {
+            this.slots[i] = new Slot();
+        }
+    }
+
+    public void recordNanos(long nanos) {
+        record(nanos, System.nanoTime());
+    }
+
+    void record(long nanos, long now) {
+        long micros = Math.min(Math.max(nanos / 1_000L, 0L), MAX_VALUE);
+        slotFor(now).counts.incrementAndGet(indexOf(micros));
+    }
+
+    /**
+     * Number of samples inside the current window.
+     */
+    public long count() {
+        return count(System.nanoTime());
+    }
+
+    long count(long now) {
+        return snapshot(now).total();
+    }
+
+    /**
+     * Returns the latency in microseconds below which the given fraction of the
+     * samples of the current window fall, or -1 when the window is empty.
+     */
+    public long percentileMicros(double quantile) {
+        return percentileMicros(quantile, System.nanoTime());
+    }
+
+    long percentileMicros(double quantile, long now) {
+        Snapshot current = snapshot(now);
+        if (current.total() == 0) {
+            return -1;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * current.total()));
+        long[] cumulative = current.cumulative();
+
+        // First bucket whose running total reaches the rank
+        int low = 0;
+        int high = BUCKETS - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] >= rank) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return upperBound(low);
+    }
+
+    /**
+     * Current snapshot, rebuilt by one caller when it is out of date while the others
+     * keep reading the previous one.
+     */
+    private Snapshot snapshot(long now) {
+        Snapshot current = snapshot;
+        long epoch = now / slotNanos;
+        if (current != null && current.epoch() == epoch && now - current.builtAt() < refreshNanos) {
+            return current;
+        }
+        if (current == null) {
+            current = merge(epoch, now);
+            snapshot = current;
+            return current;
+        }
+        if (!refreshing.compareAndSet(false, true)) {
+            return current;
+        }
+        try {
+            Snapshot rebuilt = merge(epoch, now);
+            snapshot = rebuilt;
+            return rebuilt;
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private Snapshot merge(long epoch, long now) {
+        long[] cumulative = new long[BUCKETS];
+        for (Slot slot : slots) {
+            if (isLive(slot, epoch)) {
+                for (int i = 0; i < BUCKETS; i++) {
+                    cumulative[i] += slot.counts.get(i);
+                }
+            }
+        }
+        for (int i = 1; i < BUCKETS; i++) {
+            cumulative[i] += cumulative[i - 1];
+        }
+        return new Snapshot(epoch, now, cumulative);
+    }
+
+    private boolean isLive(Slot slot, long epoch) {
+        long slotEpoch = slot.epoch;
+        return slotEpoch >= 0 && slotEpoch > epoch - slots.length && slotEpoch <= epoch;
+    }
+
+    private Slot slotFor(long now) {
+        long epoch = now / slotNanos;
+        Slot slot = slots[(int) Math.floorMod(epoch, (long) slots.length)];
+        if (slot.epoch != epoch) {
+            synchronized (slot) {
+                if (slot.epoch != epoch) {
+                    for (int i = 0; i < BUCKETS; i++) {
+                        slot.counts.set(i, 0L);
+                    }
+                    slot.epoch = epoch;
+                }
+            }
+        }
+        return slot;
+    }
+
+    static int indexOf(long micros) {
+        if (micros < LINEAR_BUCKETS) {
+            return (int) micros;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(micros);
+        int shift = msb - SUB_BUCKET_BITS;
+        int sub = (int) ((micros >>> shift) & (SUB_BUCKETS - 1));
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBound(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int shift = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+        int sub = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+
+    /**
+     * Merged window at one point in time, as running totals per bucket.
+     */
+    private record Snapshot(long epoch, long builtAt, long[] cumulative) {
+
+        long total() {
+            return cumulative[BUCKETS - 1];
+        }
+    }
+
+    private static final class Slot {
+        final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        volatile long epoch = -1;
+    }
+}
@@ -0,0 +1,52 @@
+package com.currency.utils;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * Thread-safe table with one cell per currency pair, indexed by the pair keys of
+ * {@link CurrencyRegistry}, so lookups are a single array load.
+ */
+public final class PairTable<T> {
+
+    private final AtomicReferenceArray<T> cells = new AtomicReferenceArray<>(CurrencyRegistry.PAIRS);
+
+    public T get(int pairKey) {
+        return cells.get(pairKey);
+    }
+
+    public void set(int pairKey, T value) {
+        cells.set(pairKey, value);
+    }
+
+    public boolean compareAndSet(int pairKey, T expected, T value) {
+        return cells.compareAndSet(pairKey, expected, value);
+    }
+
+    /**
+     * Returns the value of the cell, creating it when empty. Under contention the
+     * factory may run more than once, but only one value is ever published.
+     */
+    public T computeIfAbsent(int pairKey, IntFunction<? extends T> factory) {
+        T value = cells.get(pairKey);
+        if (value != null) {
+            return value;
+        }
+        T created = factory.apply(pairKey);
+        return cells.compareAndSet(pairKey, null, created) ? created : cells.get(pairKey);
+    }
+
+    public void forEach(PairConsumer<? super T> consumer) {
+        for (int pairKey = 0; pairKey < CurrencyRegistry.PAIRS; pairKey++) {
+            T value = cells.get(pairKey);
+            if (value != null) {
+                consumer.accept(pairKey, value);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface PairConsumer<T> {
+        void accept(int pairKey, T value);
+    }
+}
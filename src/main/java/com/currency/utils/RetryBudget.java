@@ -0,0 +1,79 @@
+package com.currency.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket that caps retries at a fraction of the successful calls.
+ * Every success deposits {@code ratio} of a token, up to {@code maxBurst} tokens,
+ * and every retry spends a whole one. When a provider starts failing the deposits
+ * stop, so retries dry up instead of multiplying the load on it.
+ */
+public final class RetryBudget {
+
+    private static final long TOKEN = 1_000L;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong tokens;
+    private final AtomicLong granted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * @param ratio    retries allowed per successful call
+     * @param maxBurst tokens the bucket holds at most, and starts with
+     */
+    public RetryBudget(double ratio, int maxBurst) {
+        if (ratio < 0 || maxBurst < 0) {
+            throw new IllegalArgumentException("Retry budget ratio and burst cannot be negative");
+        }
+        this.deposit = (long) (ratio * TOKEN);
+        this.capacity = maxBurst * TOKEN;
+        this.tokens = new AtomicLong(capacity);
+    }
+
+    /**
+     * Budget that never refuses a retry.
+     */
+    public static RetryBudget unlimited() {
+        return new RetryBudget(Integer.MAX_VALUE, Integer.MAX_VALUE / (int) TOKEN);
+    }
+
+    public void onSuccess() {
+        while (true) {
+            long current = tokens.get();
+            long updated = Math.min(capacity, current + deposit);
+            if (updated == current || tokens.compareAndSet(current, updated)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Spends a token for a retry, or returns false when the budget is exhausted.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            long current = tokens.get();
+            if (current < TOKEN) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - TOKEN)) {
+                granted.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    public double available() {
+        return tokens.get() / (double) TOKEN;
+    }
+
+    public long granted() {
+        return granted.get();
+    }
+
+    public long rejected() {
+        return rejected.get();
+    }
+}
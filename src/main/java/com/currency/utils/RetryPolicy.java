@@ -0,0 +1,101 @@
+package com.currency.utils;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import com.currency.jfr.ProviderCallEvent;
+
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Timeout per attempt and a bounded number of retries with jittered exponential
+ * backoff, both trimmed to a {@link Deadline}: every attempt times out no later than
+ * the deadline, and a retry only starts when at least {@code minAttempt} is left
+ * after its delay. Retries are also paid for from a {@link RetryBudget} shared by all
+ * calls to the provider, so a failing provider is not hit with retries on top of its
+ * regular traffic. Each attempt is recorded as a {@link ProviderCallEvent} while
+ * that event is enabled in a running flight recording.
+ *
+ * @param provider       name of the provider, for the recorded events
+ * @param attemptTimeout longest a single attempt may take
+ * @param maxRetries     attempts after the first one
+ * @param delay          backoff before the first retry, doubled for each further one
+ * @param maxDelay       longest backoff
+ * @param minAttempt     least time an attempt needs to be worth starting
+ * @param budget         retry budget of the provider
+ */
+public record RetryPolicy(String provider, Duration attemptTimeout, int maxRetries, Duration delay, Duration maxDelay,
+        Duration minAttempt, RetryBudget budget) {
+
+    public <T> Uni<T> call(Supplier<Uni<T>> attempt, Deadline deadline) {
+        return attempt(attempt, deadline, 0);
+    }
+
+    private <T> Uni<T> attempt(Supplier<Uni<T>> attempt, Deadline deadline, int retry) {
+        // Capped once, so the deadline cannot run out between the check and the timer
+        Duration timeout = deadline.cap(attemptTimeout);
+        if (!timeout.isPositive()) {
+            return Uni.createFrom().failure(new TimeoutException());
+        }
+        Uni<T> call = Uni.createFrom().deferred(attempt::get)
+                .ifNoItem().after(timeout).fail();
+        return recorded(call, retry + 1)
+                .onItem().invoke(budget::onSuccess)
+                .onFailure().recoverWithUni(failure -> {
+                    Duration backoff = backoff(retry);
+                    if (!canRetry(retry, backoff, deadline)) {
+                        return Uni.createFrom().failure(failure);
+                    }
+                    Uni<Void> pause = Uni.createFrom().voidItem();
+                    if (backoff.isPositive()) {
+                        pause = pause.onItem().delayIt().by(backoff);
+                    }
+                    return pause.onItem().transformToUni(ignored -> attempt(attempt, deadline, retry + 1));
+                });
+    }
+
+    private <T> Uni<T> recorded(Uni<T> call, int attempt) {
+        ProviderCallEvent event = new ProviderCallEvent();
+        if (!event.isEnabled()) {
+            return call;
+        }
+        return Uni.createFrom().deferred(() -> {
+            event.begin();
+            return call.onTermination().invoke((item, failure, cancelled) -> {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.provider = provider;
+                    event.attempt = attempt;
+                    event.outcome = cancelled ? ProviderCallEvent.CANCELLED
+                            : failure instanceof TimeoutException ? ProviderCallEvent.TIMEOUT
+                            : failure != null ? ProviderCallEvent.ERROR
+                            : ProviderCallEvent.SUCCESS;
+                    event.commit();
+                }
+            });
+        });
+    }
+
+    /**
+     * Equal jitter: half of the exponential delay is kept, the other half is random,
+     * so retries of calls that failed together do not arrive together.
+     */
+    Duration backoff(int retry) {
+        if (!delay.isPositive()) {
+            return Duration.ZERO;
+        }
+        long exponential = delay.toNanos() << Math.min(retry, 30);
+        long capped = Math.min(exponential < 0 ? Long.MAX_VALUE : exponential, maxDelay.toNanos());
+        long half = capped / 2;
+        return Duration.ofNanos(half + ThreadLocalRandom.current().nextLong(capped - half + 1));
+    }
+
+    private boolean canRetry(int retry, Duration backoff, Deadline deadline) {
+        // The budget is only charged for retries that would otherwise run
+        return retry < maxRetries
+                && deadline.remaining().compareTo(backoff.plus(minAttempt)) >= 0
+                && budget.tryAcquire();
+    }
+}
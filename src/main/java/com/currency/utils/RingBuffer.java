@@ -0,0 +1,65 @@
+package com.currency.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free buffer keeping the latest values written to it. Writers claim a sequence
+ * number and overwrite the oldest slot; readers skip slots that were overwritten or
+ * not yet published while they read, so a snapshot may miss values written
+ * concurrently but never returns one twice.
+ */
+public final class RingBuffer<T> {
+
+    private final AtomicReferenceArray<Slot<T>> slots;
+    private final int mask;
+    private final AtomicLong written = new AtomicLong();
+
+    /**
+     * @param capacity values kept, rounded up to a power of two
+     */
+    public RingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+    }
+
+    public void add(T value) {
+        long sequence = written.getAndIncrement();
+        slots.set((int) (sequence & mask), new Slot<>(sequence, value));
+    }
+
+    /**
+     * Up to {@code limit} of the latest values, newest first.
+     */
+    public List<T> latest(int limit) {
+        long end = written.get();
+        long start = Math.max(0, end - slots.length());
+        List<T> values = new ArrayList<>((int) Math.min(Math.max(0, limit), end - start));
+        for (long sequence = end - 1; sequence >= start && values.size() < limit; sequence--) {
+            Slot<T> slot = slots.get((int) (sequence & mask));
+            if (slot != null && slot.sequence == sequence) {
+                values.add(slot.value);
+            }
+        }
+        return values;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Values written since creation, including those overwritten since.
+     */
+    public long written() {
+        return written.get();
+    }
+
+    private record Slot<T>(long sequence, T value) {}
+}
@@ -2,59 +2,166 @@ package com.currency.utils;
 
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.logging.Logger;
 
+import com.currency.jfr.XmlCodecEvent;
+
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Marshaller;
 import jakarta.xml.bind.Unmarshaller;
 
+/**
+ * JAXB codec with one {@link JAXBContext} per bound class. Marshallers and
+ * unmarshallers are not thread-safe, so each class keeps a small pool of them
+ * that callers borrow for the duration of a single call. Each call is recorded as an
+ * {@link XmlCodecEvent} while that event is enabled in a flight recording.
+ */
 public class XmlUtils {
-    
+
     private static final Logger LOG = Logger.getLogger(XmlUtils.class);
-    
+
+    private static final int MAX_POOLED = 32;
+
+    private static final Map<Class<?>, CodecPool> POOLS = new ConcurrentHashMap<>();
+
+    /**
+     * Builds the JAXB contexts for the given classes ahead of the first request.
+     */
+    public static void preload(Class<?>... classes) throws JAXBException {
+        for (Class<?> clazz : classes) {
+            poolFor(clazz);
+        }
+    }
+
     public static <T> String objectToXml(T object, Class<T> clazz) throws JAXBException {
         if (object == null) {
             throw new IllegalArgumentException("Object to marshal cannot be null");
         }
-        
+
+        XmlCodecEvent event = new XmlCodecEvent();
+        event.begin();
         try {
-            JAXBContext context = JAXBContext.newInstance(clazz);
-            Marshaller marshaller = context.createMarshaller();
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-            
-            StringWriter writer = new StringWriter();
-            marshaller.marshal(object, writer);
-            
-            String result = writer.toString();
-            LOG.debugf("Successfully marshalled object to XML: %s", result);
-            return result;
-            
+            CodecPool pool = poolFor(clazz);
+            Marshaller marshaller = pool.borrowMarshaller();
+            try {
+                StringWriter writer = new StringWriter(256);
+                marshaller.marshal(object, writer);
+
+                String result = writer.toString();
+                LOG.tracef("Successfully marshalled object to XML: %s", result);
+                commit(event, XmlCodecEvent.MARSHAL, clazz, result.length());
+                return result;
+            } finally {
+                pool.release(marshaller);
+            }
+
         } catch (JAXBException e) {
             LOG.errorf("Failed to marshal object of type %s: %s", clazz.getSimpleName(), e.getMessage());
             throw e;
         }
     }
-    
-    @SuppressWarnings("unchecked")
+
     public static <T> T xmlToObject(String xml, Class<T> clazz) throws JAXBException {
         if (xml == null || xml.trim().isEmpty()) {
             throw new IllegalArgumentException("XML string cannot be null or empty");
         }
-        
+
+        XmlCodecEvent event = new XmlCodecEvent();
+        event.begin();
         try {
-            JAXBContext context = JAXBContext.newInstance(clazz);
-            Unmarshaller unmarshaller = context.createUnmarshaller();
-            
-            T result = (T) unmarshaller.unmarshal(new StringReader(xml));
-            LOG.debugf("Successfully unmarshalled XML to object of type %s", clazz.getSimpleName());
-            return result;
-            
+            CodecPool pool = poolFor(clazz);
+            Unmarshaller unmarshaller = pool.borrowUnmarshaller();
+            try {
+                T result = clazz.cast(unmarshaller.unmarshal(new StringReader(xml)));
+                LOG.tracef("Successfully unmarshalled XML to object of type %s", clazz.getSimpleName());
+                commit(event, XmlCodecEvent.UNMARSHAL, clazz, xml.length());
+                return result;
+            } finally {
+                pool.release(unmarshaller);
+            }
+
         } catch (JAXBException e) {
-            LOG.errorf("Failed to unmarshal XML to type %s. XML content: %s. Error: %s", 
+            LOG.errorf("Failed to unmarshal XML to type %s. XML content: %s. Error: %s",
                       clazz.getSimpleName(), xml, e.getMessage());
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    // Provider documents are ASCII, so their length in characters is their size in bytes
+    private static void commit(XmlCodecEvent event, String operation, Class<?> type, long bytes) {
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.type = type;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    private static CodecPool poolFor(Class<?> clazz) throws JAXBException {
+        CodecPool pool = POOLS.get(clazz);
+        if (pool == null) {
+            CodecPool created = new CodecPool(JAXBContext.newInstance(clazz));
+            pool = POOLS.putIfAbsent(clazz, created);
+            if (pool == null) {
+                LOG.debugf("Created JAXB context for %s", clazz.getSimpleName());
+                pool = created;
+            }
+        }
+        return pool;
+    }
+
+    private static final class CodecPool {
+        private final JAXBContext context;
+        private final Queue<Marshaller> marshallers = new ConcurrentLinkedQueue<>();
+        private final Queue<Unmarshaller> unmarshallers = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pooledMarshallers = new AtomicInteger();
+        private final AtomicInteger pooledUnmarshallers = new AtomicInteger();
+
+        CodecPool(JAXBContext context) {
+            this.context = context;
+        }
+
+        Marshaller borrowMarshaller() throws JAXBException {
+            Marshaller marshaller = marshallers.poll();
+            if (marshaller != null) {
+                pooledMarshallers.decrementAndGet();
+                return marshaller;
+            }
+            marshaller = context.createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.FALSE);
+            return marshaller;
+        }
+
+        Unmarshaller borrowUnmarshaller() throws JAXBException {
+            Unmarshaller unmarshaller = unmarshallers.poll();
+            if (unmarshaller != null) {
+                pooledUnmarshallers.decrementAndGet();
+                return unmarshaller;
+            }
+            return context.createUnmarshaller();
+        }
+
+        void release(Marshaller marshaller) {
+            if (pooledMarshallers.incrementAndGet() <= MAX_POOLED) {
+                marshallers.offer(marshaller);
+            } else {
+                pooledMarshallers.decrementAndGet();
+            }
+        }
+
+        void release(Unmarshaller unmarshaller) {
+            if (pooledUnmarshallers.incrementAndGet() <= MAX_POOLED) {
+                unmarshallers.offer(unmarshaller);
+            } else {
+                pooledUnmarshallers.decrementAndGet();
+            }
+        }
+    }
+}
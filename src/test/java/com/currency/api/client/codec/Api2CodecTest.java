@@ -0,0 +1,55 @@
+package com.currency.api.client.codec;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.currency.dto.Api2Request;
+import com.currency.dto.Api2Response;
+
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.core.MediaType;
+
+class Api2CodecTest {
+
+    private final Api2RequestWriter writer = new Api2RequestWriter();
+    private final Api2ResponseDecoder decoder = new Api2ResponseDecoder();
+
+    private Api2Response read(String xml) throws Exception {
+        return decoder.decode(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testWriteRequest() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        writer.writeTo(new Api2Request("USD", "EUR", new BigDecimal("100.00")), Api2Request.class, Api2Request.class,
+            null, MediaType.APPLICATION_XML_TYPE, null, output);
+
+        assertEquals("<exchangeRequest><From>USD</From><To>EUR</To><Amount>100.00</Amount></exchangeRequest>",
+            output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testReadResult() throws Exception {
+        Api2Response response = read("<?xml version=\"1.0\"?><Api2Response><result>0.86</result></Api2Response>");
+
+        assertEquals(new BigDecimal("0.86"), response.result());
+    }
+
+    @Test
+    void testReadMissingResult() throws Exception {
+        assertNull(read("<exchangeResponse><Status>ERROR</Status></exchangeResponse>").result());
+    }
+
+    @Test
+    void testReadMalformedResult() {
+        assertThrows(ProcessingException.class,
+            () -> read("<exchangeResponse><Result>n/a</Result></exchangeResponse>"));
+    }
+}
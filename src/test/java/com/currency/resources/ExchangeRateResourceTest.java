@@ -1,22 +1,29 @@
 package com.currency.resources;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
 import com.currency.dto.request.ExchangeRequest;
 import com.currency.dto.response.ExchangeResponse;
+import com.currency.dto.response.RateStreamEvent;
 import com.currency.exceptions.NoValidRateException;
+import com.currency.exceptions.OverloadedException;
 import com.currency.services.contracts.IExchangeRateService;
 
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 
 @QuarkusTest
@@ -35,7 +42,7 @@ class ExchangeRateResourceTest {
             100L
         );
         
-        when(exchangeRateService.findBestExchangeRate(any()))
+        when(exchangeRateService.findBestExchangeRate(any(), any()))
             .thenReturn(Uni.createFrom().item(mockResponse));
 
         ExchangeRequest request = new ExchangeRequest("USD", "EUR", new BigDecimal("100.00"));
@@ -56,7 +63,7 @@ class ExchangeRateResourceTest {
     @Test
     void testGetBestExchangeRate_NoValidRate() {
         // Arrange
-        when(exchangeRateService.findBestExchangeRate(any()))
+        when(exchangeRateService.findBestExchangeRate(any(), any()))
             .thenReturn(Uni.createFrom().failure(new NoValidRateException("No valid rates available")));
 
         ExchangeRequest request = new ExchangeRequest("USD", "EUR", new BigDecimal("100.00"));
@@ -73,6 +80,26 @@ class ExchangeRateResourceTest {
             .body("errorCode", notNullValue());
     }
 
+    @Test
+    void testGetBestExchangeRate_Overloaded() {
+        // Arrange
+        when(exchangeRateService.findBestExchangeRate(any(), any()))
+            .thenReturn(Uni.createFrom().failure(new OverloadedException("Service is overloaded", Duration.ofSeconds(2))));
+
+        ExchangeRequest request = new ExchangeRequest("USD", "EUR", new BigDecimal("100.00"));
+
+        // Act & Assert
+        given()
+            .contentType(ContentType.JSON)
+            .body(request)
+        .when()
+            .post("/api/v1/exchange/best-rate")
+        .then()
+            .statusCode(503)
+            .header("Retry-After", "2")
+            .body("errorCode", is("OVERLOADED"));
+    }
+
     @Test
     void testGetBestExchangeRate_InvalidAmount() {
         ExchangeRequest request = new ExchangeRequest("USD", "EUR", new BigDecimal("-100.00"));
@@ -107,4 +134,94 @@ class ExchangeRateResourceTest {
         .then()
             .statusCode(400);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetBestExchangeRates_Batch() {
+        // Arrange
+        ExchangeResponse mockResponse = new ExchangeResponse(
+            "TestProvider", 
+            new BigDecimal("0.85"), 
+            new BigDecimal("85.00"), 
+            100L
+        );
+        
+        when(exchangeRateService.findBestExchangeRates(any(), any()))
+            .thenReturn(Uni.createFrom().item(List.of(mockResponse, mockResponse)));
+
+        List<ExchangeRequest> requests = List.of(
+            new ExchangeRequest("USD", "EUR", new BigDecimal("100.00")),
+            new ExchangeRequest("USD", "EUR", new BigDecimal("100.00")));
+
+        // Act & Assert
+        given()
+            .contentType(ContentType.JSON)
+            .body(requests)
+        .when()
+            .post("/api/v1/exchange/best-rate/batch")
+        .then()
+            .statusCode(200)
+            .body("size()", is(2))
+            .body("[0].provider", notNullValue());
+    }
+
+    @Test
+    void testGetBestExchangeRates_EmptyBatch() {
+        given()
+            .contentType(ContentType.JSON)
+            .body("[]")
+        .when()
+            .post("/api/v1/exchange/best-rate/batch")
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    void testStreamBestRate() {
+        // Arrange
+        ExchangeResponse quote = new ExchangeResponse(
+            "TestProvider", 
+            new BigDecimal("0.85"), 
+            new BigDecimal("85.00"), 
+            100L
+        );
+        
+        when(exchangeRateService.streamExchangeRates(any(), any()))
+            .thenReturn(Multi.createFrom().items(
+                new RateStreamEvent(RateStreamEvent.QUOTE, quote),
+                new RateStreamEvent(RateStreamEvent.BEST, quote)));
+
+        ExchangeRequest request = new ExchangeRequest("USD", "EUR", new BigDecimal("100.00"));
+
+        // Act & Assert
+        given()
+            .contentType(ContentType.JSON)
+            .body(request)
+        .when()
+            .post("/api/v1/exchange/best-rate/stream")
+        .then()
+            .statusCode(200)
+            .body(containsString("event:quote"))
+            .body(containsString("event:best"))
+            .body(containsString("\"provider\":\"TestProvider\""));
+    }
+
+    @Test
+    void testStreamBestRate_NoValidRate() {
+        // Arrange
+        when(exchangeRateService.streamExchangeRates(any(), any()))
+            .thenReturn(Multi.createFrom().failure(new NoValidRateException("No valid rates available")));
+
+        ExchangeRequest request = new ExchangeRequest("USD", "EUR", new BigDecimal("100.00"));
+
+        // Act & Assert
+        given()
+            .contentType(ContentType.JSON)
+            .body(request)
+        .when()
+            .post("/api/v1/exchange/best-rate/stream")
+        .then()
+            .statusCode(200)
+            .body(containsString("event:error"))
+            .body(containsString("NO_VALID_RATE"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.currency.resources;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.is;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.junit.jupiter.api.Test;
+
+import com.currency.dto.response.RequestTrace;
+import com.currency.services.contracts.IFlightRecorder;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+@QuarkusTest
+class TraceRoutesTest {
+
+    @ConfigProperty(name = "quarkus.management.test-port")
+    int managementPort;
+
+    @Inject
+    IFlightRecorder flightRecorder;
+
+    @Test
+    void testTracesAreServedOnManagementInterfaceOnly() {
+        flightRecorder.record(new RequestTrace(Instant.now(), "CHF", "SEK", RequestTrace.ANSWERED,
+            "API1", new BigDecimal("11.70"), 1000, List.of(), List.of()));
+
+        given()
+            .port(managementPort)
+        .when()
+            .get("/q/traces?source=CHF&target=SEK")
+        .then()
+            .statusCode(200)
+            .body("size()", is(1))
+            .body("[0].winner", is("API1"));
+
+        given()
+        .when()
+            .get("/api/v1/traces")
+        .then()
+            .statusCode(404);
+    }
+
+    @Test
+    void testInvalidLimitIsRejected() {
+        given()
+            .port(managementPort)
+        .when()
+            .get("/q/traces?limit=all")
+        .then()
+            .statusCode(400)
+            .body("errorCode", is("INVALID_LIMIT"));
+    }
+}
@@ -2,23 +2,49 @@ package com.currency.services;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.currency.dto.request.ExchangeRequest;
+import com.currency.dto.response.CrossRoute;
 import com.currency.dto.response.ExchangeResponse;
+import com.currency.dto.response.RateStreamEvent;
+import com.currency.dto.response.RequestTrace;
 import com.currency.exceptions.NoValidRateException;
+import com.currency.exceptions.OverloadedException;
+import com.currency.exceptions.UnsupportedCurrencyException;
+import com.currency.services.contracts.IAggregationMetrics;
+import com.currency.services.contracts.IConcurrencyLimiter;
+import com.currency.services.contracts.ICrossRateEngine;
 import com.currency.services.contracts.IExchangeProvider;
+import com.currency.services.contracts.IFlightRecorder;
+import com.currency.services.contracts.IHedgingPolicy;
+import com.currency.services.contracts.IMicroBatcher;
+import com.currency.services.contracts.IProviderCapabilities;
+import com.currency.services.contracts.IProviderLatencyTracker;
+import com.currency.services.contracts.IRateCache;
+import com.currency.services.contracts.IRatePrefetcher;
+import com.currency.services.contracts.IRateSnapshotStore;
 import com.currency.services.implementations.ExchangeRateService;
+import com.currency.utils.Deadline;
 
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.inject.Instance;
@@ -29,6 +55,39 @@ class ExchangeRateServiceTest {
     @Mock
     Instance<IExchangeProvider> providerInstance;
 
+    @Mock
+    IRateCache rateCache;
+
+    @Mock
+    IProviderLatencyTracker latencyTracker;
+
+    @Mock
+    IHedgingPolicy hedgingPolicy;
+
+    @Mock
+    IConcurrencyLimiter concurrencyLimiter;
+
+    @Mock
+    ICrossRateEngine crossRateEngine;
+
+    @Mock
+    IRateSnapshotStore snapshotStore;
+
+    @Mock
+    IRatePrefetcher ratePrefetcher;
+
+    @Mock
+    IProviderCapabilities capabilities;
+
+    @Mock
+    IMicroBatcher microBatcher;
+
+    @Mock
+    IFlightRecorder flightRecorder;
+
+    @Mock
+    IAggregationMetrics metrics;
+
     @InjectMocks
     ExchangeRateService exchangeRateService;
 
@@ -45,6 +104,17 @@ class ExchangeRateServiceTest {
         api1Provider = mock(IExchangeProvider.class);
         api2Provider = mock(IExchangeProvider.class);
         api3Provider = mock(IExchangeProvider.class);
+        
+        // Pass every lookup straight through to the provider
+        lenient().when(rateCache.getExchangeRate(any(), any(), any(), any()))
+            .thenAnswer(invocation -> invocation.<Function<Deadline, Uni<BigDecimal>>>getArgument(3)
+                .apply(invocation.getArgument(2)));
+        lenient().when(hedgingPolicy.hedge(any(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<Uni<BigDecimal>>>getArgument(1).get());
+        lenient().when(concurrencyLimiter.limit(any(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<Uni<BigDecimal>>>getArgument(1).get());
+        lenient().when(capabilities.canQuote(any(), any(), any())).thenReturn(true);
+        lenient().when(metrics.trackCall(any(), any())).thenAnswer(invocation -> invocation.getArgument(1));
     }
     
     private void setupProvidersWithNames() {
@@ -54,7 +124,7 @@ class ExchangeRateServiceTest {
         when(api3Provider.name()).thenReturn("API3");
         
         // Mock the Instance to return our mock providers
-        when(providerInstance.stream()).thenReturn(Stream.of(api1Provider, api2Provider, api3Provider));
+        when(providerInstance.stream()).thenAnswer(invocation -> Stream.of(api1Provider, api2Provider, api3Provider));
     }
 
     @Test
@@ -66,9 +136,9 @@ class ExchangeRateServiceTest {
         BigDecimal rate2 = new BigDecimal("0.86");
         BigDecimal rate3 = new BigDecimal("0.84");
 
-        when(api1Provider.getExchangeRate(any())).thenReturn(Uni.createFrom().item(rate1));
-        when(api2Provider.getExchangeRate(any())).thenReturn(Uni.createFrom().item(rate2));
-        when(api3Provider.getExchangeRate(any())).thenReturn(Uni.createFrom().item(rate3));
+        when(api1Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(rate1));
+        when(api2Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(rate2));
+        when(api3Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(rate3));
 
         // Act
         ExchangeResponse result = exchangeRateService.findBestExchangeRate(validRequest)
@@ -80,9 +150,13 @@ class ExchangeRateServiceTest {
         assertEquals(new BigDecimal("0.86"), result.rate());
         assertEquals(0, new BigDecimal("86.00").compareTo(result.convertedAmount()));
         
-        verify(api1Provider, times(1)).getExchangeRate(validRequest);
-        verify(api2Provider, times(1)).getExchangeRate(validRequest);
-        verify(api3Provider, times(1)).getExchangeRate(validRequest);
+        assertEquals(3, result.respondedProviders().size());
+        assertTrue(result.cutOffProviders().isEmpty());
+        
+        ExchangeRequest unitRequest = new ExchangeRequest("USD", "EUR", BigDecimal.ONE);
+        verify(api1Provider, times(1)).getExchangeRate(eq(unitRequest), any());
+        verify(api2Provider, times(1)).getExchangeRate(eq(unitRequest), any());
+        verify(api3Provider, times(1)).getExchangeRate(eq(unitRequest), any());
     }
 
     @Test
@@ -93,9 +167,9 @@ class ExchangeRateServiceTest {
         BigDecimal rate1 = new BigDecimal("0.85");
         BigDecimal rate3 = new BigDecimal("0.84");
 
-        when(api1Provider.getExchangeRate(any())).thenReturn(Uni.createFrom().item(rate1));
-        when(api2Provider.getExchangeRate(any())).thenReturn(Uni.createFrom().failure(new RuntimeException("Timeout")));
-        when(api3Provider.getExchangeRate(any())).thenReturn(Uni.createFrom().item(rate3));
+        when(api1Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(rate1));
+        when(api2Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().failure(new RuntimeException("Timeout")));
+        when(api3Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(rate3));
 
         // Act
         ExchangeResponse result = exchangeRateService.findBestExchangeRate(validRequest)
@@ -113,9 +187,9 @@ class ExchangeRateServiceTest {
         // Arrange
         setupProvidersWithNames();
         
-        when(api1Provider.getExchangeRate(any())).thenReturn(Uni.createFrom().failure(new RuntimeException("Error")));
-        when(api2Provider.getExchangeRate(any())).thenReturn(Uni.createFrom().failure(new RuntimeException("Error")));
-        when(api3Provider.getExchangeRate(any())).thenReturn(Uni.createFrom().failure(new RuntimeException("Error")));
+        when(api1Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().failure(new RuntimeException("Error")));
+        when(api2Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().failure(new RuntimeException("Error")));
+        when(api3Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().failure(new RuntimeException("Error")));
 
         // Act & Assert
         assertThrows(NoValidRateException.class, () -> {
@@ -133,4 +207,247 @@ class ExchangeRateServiceTest {
             exchangeRateService.findBestExchangeRate(validRequest).await().indefinitely();
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindBestExchangeRates_DeduplicatesPairs() {
+        // Arrange
+        setupProvidersWithNames();
+        
+        when(api1Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(new BigDecimal("0.85")));
+        when(api2Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(new BigDecimal("0.86")));
+        when(api3Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(new BigDecimal("0.84")));
+        
+        List<ExchangeRequest> batch = List.of(
+            new ExchangeRequest("USD", "EUR", new BigDecimal("100.00")),
+            new ExchangeRequest("USD", "GBP", new BigDecimal("10.00")),
+            new ExchangeRequest("USD", "EUR", new BigDecimal("50.00")));
+
+        // Act
+        List<ExchangeResponse> results = exchangeRateService.findBestExchangeRates(batch)
+            .await().indefinitely();
+
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals(0, new BigDecimal("86.00").compareTo(results.get(0).convertedAmount()));
+        assertEquals(0, new BigDecimal("8.60").compareTo(results.get(1).convertedAmount()));
+        assertEquals(0, new BigDecimal("43.00").compareTo(results.get(2).convertedAmount()));
+        
+        verify(api1Provider, times(2)).getExchangeRate(any(), any());
+        verify(api2Provider, times(2)).getExchangeRate(any(), any());
+        verify(api3Provider, times(2)).getExchangeRate(any(), any());
+    }
+
+    @Test
+    void testFindBestExchangeRate_SkipsSlowProvider() {
+        // Arrange
+        setupProvidersWithNames();
+        when(latencyTracker.shouldSkip(any())).thenAnswer(invocation -> "API2".equals(invocation.getArgument(0)));
+        
+        when(api1Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(new BigDecimal("0.85")));
+        when(api3Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(new BigDecimal("0.84")));
+
+        // Act
+        ExchangeResponse result = exchangeRateService.findBestExchangeRate(validRequest)
+            .await().indefinitely();
+
+        // Assert
+        assertEquals("API1", result.provider());
+        assertEquals(List.of("API2"), result.skippedProviders());
+        verify(api2Provider, never()).getExchangeRate(any(), any());
+        verify(latencyTracker, times(2)).record(any(), anyLong());
+    }
+
+    @Test
+    void testFindBestExchangeRate_OverloadRejectionsLeaveNoLatencySample() {
+        // Arrange
+        setupProvidersWithNames();
+        doReturn(Uni.createFrom().failure(new OverloadedException("API2 is at its concurrency limit", Duration.ZERO)))
+            .when(concurrencyLimiter).limit(eq("API2"), any());
+        
+        when(api1Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(new BigDecimal("0.85")));
+        when(api3Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(new BigDecimal("0.84")));
+
+        // Act
+        ExchangeResponse result = exchangeRateService.findBestExchangeRate(validRequest)
+            .await().indefinitely();
+
+        // Assert
+        assertEquals("API1", result.provider());
+        verify(latencyTracker, never()).record(eq("API2"), anyLong());
+        verify(latencyTracker).record(eq("API1"), anyLong());
+        verify(latencyTracker).record(eq("API3"), anyLong());
+    }
+
+    @Test
+    void testStreamExchangeRates_EmitsQuotesThenBest() {
+        // Arrange
+        setupProvidersWithNames();
+
+        when(api1Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(new BigDecimal("0.85")));
+        when(api2Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().failure(new RuntimeException("Timeout")));
+        when(api3Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(new BigDecimal("0.87")));
+
+        // Act
+        List<RateStreamEvent> events = exchangeRateService.streamExchangeRates(validRequest)
+            .collect().asList()
+            .await().indefinitely();
+
+        // Assert
+        assertEquals(3, events.size());
+        assertEquals(2, events.stream().filter(event -> RateStreamEvent.QUOTE.equals(event.type())).count());
+        RateStreamEvent best = events.get(events.size() - 1);
+        assertEquals(RateStreamEvent.BEST, best.type());
+        assertEquals("API3", best.data().provider());
+        assertEquals(0, new BigDecimal("87.00").compareTo(best.data().convertedAmount()));
+    }
+
+    @Test
+    void testFindBestExchangeRate_UnquotedPairAnsweredFromCrossRoute() {
+        // Arrange
+        when(providerInstance.stream()).thenAnswer(invocation -> Stream.of(api1Provider, api2Provider, api3Provider));
+        when(crossRateEngine.isUnquoted("USD", "EUR")).thenReturn(true);
+        when(crossRateEngine.bestRoute("USD", "EUR")).thenReturn(Optional.of(
+            new CrossRoute(List.of("USD", "GBP", "EUR"), List.of("API1", "API3"), new BigDecimal("0.87"))));
+
+        // Act
+        ExchangeResponse result = exchangeRateService.findBestExchangeRate(validRequest)
+            .await().indefinitely();
+
+        // Assert
+        assertEquals("CROSS", result.provider());
+        assertEquals(0, new BigDecimal("87.00").compareTo(result.convertedAmount()));
+        assertEquals(List.of("USD", "GBP", "EUR"), result.crossRoute().currencies());
+        verify(api1Provider, never()).getExchangeRate(any(), any());
+        verify(api2Provider, never()).getExchangeRate(any(), any());
+        verify(api3Provider, never()).getExchangeRate(any(), any());
+    }
+
+    @Test
+    void testFindBestExchangeRate_PairWithoutRatesIsMarkedUnquoted() {
+        // Arrange
+        setupProvidersWithNames();
+        
+        when(api1Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().nullItem());
+        when(api2Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().nullItem());
+        when(api3Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(BigDecimal.ZERO));
+
+        // Act & Assert
+        assertThrows(NoValidRateException.class, () -> {
+            exchangeRateService.findBestExchangeRate(validRequest).await().indefinitely();
+        });
+        verify(crossRateEngine).markUnquoted("USD", "EUR");
+    }
+
+    @Test
+    void testFindBestExchangeRate_FailuresDoNotMarkPairUnquoted() {
+        // Arrange
+        setupProvidersWithNames();
+        
+        when(api1Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().nullItem());
+        when(api2Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().failure(new RuntimeException("Timeout")));
+        when(api3Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().nullItem());
+
+        // Act & Assert
+        assertThrows(NoValidRateException.class, () -> {
+            exchangeRateService.findBestExchangeRate(validRequest).await().indefinitely();
+        });
+        verify(crossRateEngine, never()).markUnquoted(any(), any());
+    }
+
+    @Test
+    void testFindBestExchangeRate_AllProvidersFailServesStaleSnapshot() {
+        // Arrange
+        setupProvidersWithNames();
+        Instant quotedAt = Instant.now().minusSeconds(600);
+
+        when(api1Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().failure(new RuntimeException("Error 1")));
+        when(api2Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().failure(new RuntimeException("Error 2")));
+        when(api3Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().failure(new RuntimeException("Error 3")));
+        when(snapshotStore.lastKnownGood("USD", "EUR"))
+            .thenReturn(Optional.of(new IRateSnapshotStore.Snapshot("API2", new BigDecimal("0.86"), quotedAt)));
+
+        // Act
+        ExchangeResponse result = exchangeRateService.findBestExchangeRate(validRequest)
+            .await().indefinitely();
+
+        // Assert
+        assertTrue(result.stale());
+        assertEquals(quotedAt, result.quotedAt());
+        assertEquals("API2", result.provider());
+        assertEquals(0, new BigDecimal("86.00").compareTo(result.convertedAmount()));
+    }
+
+    @Test
+    void testFindBestExchangeRate_DeadlineCutsOffSlowProviders() {
+        // Arrange
+        setupProvidersWithNames();
+
+        when(api1Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(new BigDecimal("0.85")));
+        when(api2Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().nothing());
+        when(api3Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().nothing());
+
+        // Act
+        ExchangeResponse result = exchangeRateService
+            .findBestExchangeRate(validRequest, Deadline.after(Duration.ofMillis(200)))
+            .await().atMost(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals("API1", result.provider());
+        assertEquals(List.of("API1"), result.respondedProviders());
+        assertEquals(List.of("API2", "API3"), result.cutOffProviders());
+    }
+
+    @Test
+    void testFindBestExchangeRate_RejectsUnknownCurrencyBeforeCallingProviders() {
+        ExchangeRequest request = new ExchangeRequest("USD", "XYZ", new BigDecimal("100.00"));
+
+        assertThrows(UnsupportedCurrencyException.class,
+            () -> exchangeRateService.findBestExchangeRate(request).await().indefinitely());
+        verifyNoInteractions(providerInstance, rateCache, ratePrefetcher);
+    }
+
+    @Test
+    void testFindBestExchangeRate_OnlyCallsProvidersThatCanQuote() {
+        // Arrange
+        when(api1Provider.name()).thenReturn("API1");
+        when(api3Provider.name()).thenReturn("API3");
+        when(providerInstance.stream()).thenAnswer(invocation -> Stream.of(api1Provider, api2Provider, api3Provider));
+        when(capabilities.canQuote(api2Provider, "USD", "EUR")).thenReturn(false);
+
+        when(api1Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(new BigDecimal("0.85")));
+        when(api3Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(new BigDecimal("0.84")));
+
+        // Act
+        ExchangeResponse result = exchangeRateService.findBestExchangeRate(validRequest)
+            .await().indefinitely();
+
+        // Assert
+        assertEquals("API1", result.provider());
+        assertEquals(List.of("API1", "API3"), result.respondedProviders());
+        assertTrue(result.skippedProviders().isEmpty());
+        verify(api2Provider, never()).getExchangeRate(any(), any());
+        verify(capabilities).record(api1Provider, "USD", "EUR", true);
+    }
+
+    @Test
+    void testFindBestExchangeRate_RecordsTrace() {
+        // Arrange
+        setupProvidersWithNames();
+
+        when(api1Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(new BigDecimal("0.85")));
+        when(api2Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().failure(new RuntimeException("Error 2")));
+        when(api3Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item((BigDecimal) null));
+
+        // Act
+        exchangeRateService.findBestExchangeRate(validRequest).await().indefinitely();
+
+        // Assert
+        ArgumentCaptor<RequestTrace> trace = ArgumentCaptor.forClass(RequestTrace.class);
+        verify(flightRecorder).record(trace.capture());
+        assertEquals(RequestTrace.ANSWERED, trace.getValue().outcome());
+        assertEquals("API1", trace.getValue().winner());
+        assertEquals(List.of(RequestTrace.QUOTED, RequestTrace.FAILED, RequestTrace.INVALID),
+            trace.getValue().providers().stream().map(RequestTrace.ProviderCall::outcome).toList());
+        verify(metrics).recordAggregation(anyLong(), eq("API1"), eq(new BigDecimal("0.85")), eq(new BigDecimal("0.85")));
+    }
+}
@@ -0,0 +1,109 @@
+package com.currency.services.implementations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.currency.exceptions.OverloadedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import io.smallrye.mutiny.subscription.UniEmitter;
+
+class AdmissionControllerTest {
+
+    private AdmissionController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new AdmissionController();
+        controller.registry = new SimpleMeterRegistry();
+        controller.initialLimit = 1;
+        controller.minLimit = 1;
+        controller.maxLimit = 1;
+        controller.maxQueue = 1;
+        controller.maxQueueWait = Duration.ofSeconds(5);
+        controller.init();
+    }
+
+    @Test
+    void testQueuedRequestRunsWhenPermitIsReturned() {
+        AtomicReference<UniEmitter<? super String>> running = new AtomicReference<>();
+        AtomicReference<String> first = new AtomicReference<>();
+        AtomicReference<String> second = new AtomicReference<>();
+
+        controller.admit(() -> Uni.createFrom().<String>emitter(running::set)).subscribe().with(first::set);
+        controller.admit(() -> Uni.createFrom().item("queued")).subscribe().with(second::set);
+        assertNull(second.get());
+
+        running.get().complete("running");
+
+        assertEquals("running", first.get());
+        assertEquals("queued", second.get());
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFull() {
+        controller.admit(() -> Uni.createFrom().<String>nothing()).subscribe().with(ignored -> {});
+        controller.admit(() -> Uni.createFrom().<String>nothing()).subscribe().with(ignored -> {});
+
+        OverloadedException rejected = assertThrows(OverloadedException.class,
+            () -> controller.admit(() -> Uni.createFrom().item("rejected")).await().indefinitely());
+        assertTrue(rejected.getRetryAfter().toSeconds() >= 1);
+    }
+
+    @Test
+    void testStreamHoldsSlotUntilItCompletes() {
+        AtomicReference<MultiEmitter<? super String>> streaming = new AtomicReference<>();
+        List<String> events = new CopyOnWriteArrayList<>();
+        AtomicReference<String> queued = new AtomicReference<>();
+
+        controller.admitStream(() -> Multi.createFrom().<String>emitter(streaming::set))
+            .subscribe().with(events::add);
+        controller.admit(() -> Uni.createFrom().item("queued")).subscribe().with(queued::set);
+
+        streaming.get().emit("quote");
+        assertNull(queued.get());
+
+        streaming.get().complete();
+
+        assertEquals(List.of("quote"), events);
+        assertEquals("queued", queued.get());
+    }
+
+    @Test
+    void testCancelledStreamReturnsSlot() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicReference<String> queued = new AtomicReference<>();
+
+        Cancellable stream = controller.admitStream(() -> Multi.createFrom().<String>nothing()
+                .onCancellation().invoke(() -> cancelled.set(true)))
+            .subscribe().with(ignored -> {});
+        controller.admit(() -> Uni.createFrom().item("queued")).subscribe().with(queued::set);
+        assertNull(queued.get());
+
+        stream.cancel();
+
+        assertTrue(cancelled.get());
+        assertEquals("queued", queued.get());
+    }
+
+    @Test
+    void testQueuedRequestTimesOut() {
+        controller.maxQueueWait = Duration.ofMillis(50);
+        controller.admit(() -> Uni.createFrom().<String>nothing()).subscribe().with(ignored -> {});
+
+        assertThrows(OverloadedException.class,
+            () -> controller.admit(() -> Uni.createFrom().item("late")).await().atMost(Duration.ofSeconds(5)));
+    }
+}
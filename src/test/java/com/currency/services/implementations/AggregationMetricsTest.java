@@ -0,0 +1,57 @@
+package com.currency.services.implementations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import org.eclipse.microprofile.faulttolerance.exceptions.CircuitBreakerOpenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+
+class AggregationMetricsTest {
+
+    private AggregationMetrics metrics;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new AggregationMetrics();
+        metrics.registry = registry;
+        metrics.init();
+    }
+
+    @Test
+    void testProviderCallsAreTimedByOutcome() {
+        metrics.trackCall("API1", Uni.createFrom().item(new BigDecimal("0.85"))).await().indefinitely();
+        metrics.trackCall("API1", Uni.createFrom().item((BigDecimal) null)).await().indefinitely();
+        assertThrows(TimeoutException.class,
+            () -> metrics.trackCall("API1", Uni.createFrom().<BigDecimal>nothing()
+                .ifNoItem().after(Duration.ofMillis(10)).fail()).await().indefinitely());
+        assertThrows(CircuitBreakerOpenException.class,
+            () -> metrics.trackCall("API1", Uni.createFrom().<BigDecimal>failure(new CircuitBreakerOpenException()))
+                .await().indefinitely());
+
+        for (String outcome : new String[] { "success", "invalid-rate", "timeout", "circuit-open" }) {
+            assertEquals(1, registry.get("exchange.provider.calls").tags("provider", "API1", "outcome", outcome)
+                .timer().count(), outcome);
+        }
+        assertEquals(0.0, registry.get("exchange.provider.inflight").tag("provider", "API1").gauge().value());
+    }
+
+    @Test
+    void testAggregationRecordsWinnerAndSpread() {
+        metrics.recordAggregation(1_000_000, "API2", new BigDecimal("1.0100"), new BigDecimal("1.0000"));
+        metrics.recordAggregation(1_000_000, null, null, null);
+
+        assertEquals(1.0, registry.get("exchange.aggregation.wins").tag("provider", "API2").counter().count());
+        assertEquals(1, registry.get("exchange.aggregation").tag("outcome", "answered").timer().count());
+        assertEquals(1, registry.get("exchange.aggregation").tag("outcome", "no-valid-rate").timer().count());
+        assertEquals(99.0, registry.get("exchange.aggregation.spread").summary().max(), 0.1);
+    }
+}
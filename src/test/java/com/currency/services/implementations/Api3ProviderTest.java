@@ -0,0 +1,98 @@
+package com.currency.services.implementations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.currency.api.client.Api3Client;
+import com.currency.dto.Api3Request;
+import com.currency.dto.Api3Response;
+import com.currency.dto.common.DataResponse;
+import com.currency.dto.request.ExchangeRequest;
+import com.currency.services.contracts.IRetryBudgets;
+import com.currency.services.contracts.IWorkerPool;
+import com.currency.services.contracts.QuoteType;
+import com.currency.utils.Deadline;
+import com.currency.utils.RetryBudget;
+
+import io.smallrye.mutiny.Uni;
+
+@ExtendWith(MockitoExtension.class)
+class Api3ProviderTest {
+
+    @Mock
+    Api3Client apiClient;
+
+    @Mock
+    IRetryBudgets retryBudgets;
+
+    @Mock
+    IWorkerPool workerPool;
+
+    @InjectMocks
+    Api3Provider provider;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lenient().when(retryBudgets.forProvider("API3")).thenReturn(RetryBudget.unlimited());
+        lenient().when(workerPool.run(anyString(), anyString(), anyBoolean(), any()))
+            .thenAnswer(invocation -> Uni.createFrom().item(invocation.<Callable<?>>getArgument(3).call()));
+    }
+
+    @Test
+    void testTotalQuoteIsDividedByRequestedAmount() {
+        when(apiClient.getRate(new Api3Request("USD", "EUR", new BigDecimal("250"))))
+            .thenReturn(Uni.createFrom().item(response("212.50")));
+
+        BigDecimal rate = provider.getExchangeRate(new ExchangeRequest("USD", "EUR", new BigDecimal("250")), Deadline.none())
+            .await().atMost(Duration.ofSeconds(5));
+
+        assertEquals(QuoteType.TOTAL, provider.quoteType());
+        assertEquals(0, new BigDecimal("0.85").compareTo(rate));
+    }
+
+    @Test
+    void testBatchTotalsAreDividedByTheirOwnAmounts() {
+        List<ExchangeRequest> requests = List.of(
+            new ExchangeRequest("USD", "EUR", new BigDecimal("250")),
+            new ExchangeRequest("USD", "GBP", new BigDecimal("0.5")),
+            new ExchangeRequest("USD", "JPY", new BigDecimal("10")));
+        when(apiClient.getRates(any()))
+            .thenReturn(Uni.createFrom().item(List.of(response("212.50"), response("0.375"))));
+
+        List<BigDecimal> rates = provider.getExchangeRates(requests, Deadline.none())
+            .await().atMost(Duration.ofSeconds(5));
+
+        assertEquals(0, new BigDecimal("0.85").compareTo(rates.get(0)));
+        assertEquals(0, new BigDecimal("0.75").compareTo(rates.get(1)));
+        // Missing answers stay empty instead of shifting the others
+        assertNull(rates.get(2));
+    }
+
+    @Test
+    void testPerUnitQuoteIgnoresRequestedAmount() {
+        BigDecimal amount = new BigDecimal("250");
+
+        assertEquals(new BigDecimal("0.85"), QuoteType.PER_UNIT.toRate(new BigDecimal("0.85"), amount));
+        assertEquals(0, new BigDecimal("0.85").compareTo(QuoteType.TOTAL.toRate(new BigDecimal("212.50"), amount)));
+        assertEquals(new BigDecimal("0.85"), new Api1Provider().quoteType().toRate(new BigDecimal("0.85"), amount));
+    }
+
+    private static Api3Response response(String total) {
+        return new Api3Response(200, "ok", new DataResponse(new BigDecimal(total)));
+    }
+}
@@ -0,0 +1,104 @@
+package com.currency.services.implementations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.currency.exceptions.OverloadedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import jakarta.ws.rs.WebApplicationException;
+
+class ConcurrencyLimiterTest {
+
+    private ConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new ConcurrencyLimiter();
+        limiter.registry = new SimpleMeterRegistry();
+        limiter.initialLimit = 2;
+        limiter.minLimit = 1;
+        limiter.maxLimit = 4;
+        limiter.backoffRatio = 0.5;
+        limiter.latencyThreshold = Duration.ofSeconds(2);
+    }
+
+    @Test
+    void testRejectsCallsBeyondLimitWithoutCallingUpstream() {
+        limiter.limit("API1", () -> Uni.createFrom().<String>nothing()).subscribe().with(ignored -> {});
+        limiter.limit("API1", () -> Uni.createFrom().<String>nothing()).subscribe().with(ignored -> {});
+        AtomicInteger calls = new AtomicInteger();
+
+        OverloadedException rejected = assertThrows(OverloadedException.class,
+            () -> limiter.limit("API1", () -> {
+                calls.incrementAndGet();
+                return Uni.createFrom().item("rejected");
+            }).await().atMost(Duration.ofSeconds(5)));
+
+        assertEquals(Duration.ZERO, rejected.getRetryAfter());
+        assertEquals(0, calls.get());
+        assertEquals(1.0, limiter.registry.counter("exchange.provider.concurrency.rejected", "provider", "API1").count());
+        // Limits are kept per provider
+        assertEquals("other", limiter.limit("API2", () -> Uni.createFrom().item("other")).await().indefinitely());
+    }
+
+    @Test
+    void testTimedOutCallShrinksLimit() {
+        assertThrows(TimeoutException.class, () -> limiter.limit("API1",
+            () -> Uni.createFrom().<String>failure(new TimeoutException())).await().indefinitely());
+
+        assertEquals(1.0, gauge("exchange.provider.concurrency.limit"));
+        assertEquals(0.0, gauge("exchange.provider.concurrency.inflight"));
+    }
+
+    @Test
+    void testOrdinaryFailureLeavesLimit() {
+        assertThrows(IllegalArgumentException.class, () -> limiter.limit("API1",
+            () -> Uni.createFrom().<String>failure(new IllegalArgumentException("Unsupported currency pair")))
+                .await().indefinitely());
+        assertThrows(WebApplicationException.class, () -> limiter.limit("API1",
+            () -> Uni.createFrom().<String>failure(new WebApplicationException(404))).await().indefinitely());
+
+        assertEquals(2.0, gauge("exchange.provider.concurrency.limit"));
+
+        assertThrows(WebApplicationException.class, () -> limiter.limit("API1",
+            () -> Uni.createFrom().<String>failure(new WebApplicationException(503))).await().indefinitely());
+
+        assertEquals(1.0, gauge("exchange.provider.concurrency.limit"));
+    }
+
+    @Test
+    void testCancelledCallReturnsPermitWithoutShrinkingLimit() {
+        Cancellable first = limiter.limit("API1", () -> Uni.createFrom().<String>nothing()).subscribe().with(ignored -> {});
+        limiter.limit("API1", () -> Uni.createFrom().<String>nothing()).subscribe().with(ignored -> {});
+        assertEquals(2.0, gauge("exchange.provider.concurrency.inflight"));
+
+        first.cancel();
+
+        assertEquals(1.0, gauge("exchange.provider.concurrency.inflight"));
+        assertEquals(2.0, gauge("exchange.provider.concurrency.limit"));
+        assertEquals("admitted", limiter.limit("API1", () -> Uni.createFrom().item("admitted")).await().indefinitely());
+    }
+
+    @Test
+    void testDisabledLimiterPassesCallsThrough() {
+        limiter.enabled = false;
+        for (int i = 0; i < 5; i++) {
+            limiter.limit("API1", () -> Uni.createFrom().<String>nothing()).subscribe().with(ignored -> {});
+        }
+
+        assertEquals("through", limiter.limit("API1", () -> Uni.createFrom().item("through")).await().indefinitely());
+    }
+
+    private double gauge(String name) {
+        return limiter.registry.get(name).tag("provider", "API1").gauge().value();
+    }
+}
@@ -0,0 +1,82 @@
+package com.currency.services.implementations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.currency.dto.response.CrossRoute;
+
+class CrossRateEngineTest {
+
+    private CrossRateEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new CrossRateEngine();
+    }
+
+    @Test
+    void testDerivesMissingPairThroughIntermediateCurrency() {
+        engine.update("API1", "USD", "EUR", new BigDecimal("0.85"));
+        engine.update("API3", "EUR", "DOP", new BigDecimal("70"));
+
+        CrossRoute route = engine.bestRoute("USD", "DOP").orElseThrow();
+
+        assertEquals(List.of("USD", "EUR", "DOP"), route.currencies());
+        assertEquals(List.of("API1", "API3"), route.providers());
+        assertEquals(0, new BigDecimal("59.5").compareTo(route.rate()));
+        assertTrue(engine.bestRoute("DOP", "USD").isEmpty());
+    }
+
+    @Test
+    void testPrefersBetterTriangulatedRouteOverDirectQuote() {
+        engine.update("API1", "USD", "DOP", new BigDecimal("58"));
+        assertEquals(1, engine.bestRoute("USD", "DOP").orElseThrow().hops());
+
+        engine.update("API1", "USD", "EUR", new BigDecimal("0.85"));
+        engine.update("API2", "EUR", "DOP", new BigDecimal("70"));
+
+        CrossRoute route = engine.bestRoute("USD", "DOP").orElseThrow();
+        assertEquals(2, route.hops());
+        assertEquals(0, new BigDecimal("59.5").compareTo(route.rate()));
+    }
+
+    @Test
+    void testRouteIsRecomputedWhenOneOfItsEdgesGetsWorse() {
+        engine.update("API1", "USD", "DOP", new BigDecimal("58"));
+        engine.update("API1", "USD", "EUR", new BigDecimal("0.85"));
+        engine.update("API2", "EUR", "DOP", new BigDecimal("70"));
+        assertEquals(2, engine.bestRoute("USD", "DOP").orElseThrow().hops());
+
+        engine.update("API2", "EUR", "DOP", new BigDecimal("60"));
+
+        CrossRoute route = engine.bestRoute("USD", "DOP").orElseThrow();
+        assertEquals(List.of("USD", "DOP"), route.currencies());
+        assertEquals(0, new BigDecimal("58").compareTo(route.rate()));
+    }
+
+    @Test
+    void testHonoursHopCap() {
+        engine.update("API1", "USD", "EUR", new BigDecimal("0.85"));
+        engine.update("API1", "EUR", "GBP", new BigDecimal("0.86"));
+        engine.update("API1", "GBP", "JPY", new BigDecimal("190"));
+        engine.update("API1", "JPY", "DOP", new BigDecimal("0.4"));
+
+        assertTrue(engine.bestRoute("USD", "JPY").isPresent());
+        assertTrue(engine.bestRoute("USD", "DOP").isEmpty());
+    }
+
+    @Test
+    void testUnquotedMarkIsClearedByLiveQuote() {
+        engine.markUnquoted("USD", "DOP");
+        assertTrue(engine.isUnquoted("USD", "DOP"));
+
+        engine.update("API1", "USD", "DOP", new BigDecimal("58"));
+
+        assertFalse(engine.isUnquoted("USD", "DOP"));
+    }
+}
@@ -0,0 +1,168 @@
+package com.currency.services.implementations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.eclipse.microprofile.faulttolerance.exceptions.CircuitBreakerOpenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.currency.dto.request.ExchangeRequest;
+import com.currency.dto.response.ExchangeResponse;
+import com.currency.exceptions.ProviderFallbackException;
+import com.currency.services.contracts.IAggregationMetrics;
+import com.currency.services.contracts.IConcurrencyLimiter;
+import com.currency.services.contracts.ICrossRateEngine;
+import com.currency.services.contracts.IExchangeProvider;
+import com.currency.services.contracts.IFlightRecorder;
+import com.currency.services.contracts.IHedgingPolicy;
+import com.currency.services.contracts.IMicroBatcher;
+import com.currency.services.contracts.IProviderLatencyTracker;
+import com.currency.services.contracts.IRateCache;
+import com.currency.services.contracts.IRatePrefetcher;
+import com.currency.services.contracts.IRateSnapshotStore;
+import com.currency.utils.Deadline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.inject.Instance;
+
+/**
+ * Capability learning through the service: failed quotes of a pair stop its
+ * dispatch, while failures about the provider itself do not.
+ */
+@ExtendWith(MockitoExtension.class)
+class ExchangeRateServiceCapabilitiesTest {
+
+    private static final ExchangeRequest USD_EUR = new ExchangeRequest("USD", "EUR", new BigDecimal("100.00"));
+    private static final ExchangeRequest USD_GBP = new ExchangeRequest("USD", "GBP", new BigDecimal("100.00"));
+
+    @Mock
+    Instance<IExchangeProvider> providerInstance;
+
+    @Mock
+    IRateCache rateCache;
+
+    @Mock
+    IProviderLatencyTracker latencyTracker;
+
+    @Mock
+    IHedgingPolicy hedgingPolicy;
+
+    @Mock
+    IConcurrencyLimiter concurrencyLimiter;
+
+    @Mock
+    ICrossRateEngine crossRateEngine;
+
+    @Mock
+    IRateSnapshotStore snapshotStore;
+
+    @Mock
+    IRatePrefetcher ratePrefetcher;
+
+    @Mock
+    IMicroBatcher microBatcher;
+
+    @Mock
+    IFlightRecorder flightRecorder;
+
+    @Mock
+    IAggregationMetrics metrics;
+
+    @InjectMocks
+    ExchangeRateService exchangeRateService;
+
+    private IExchangeProvider api1Provider;
+    private IExchangeProvider api2Provider;
+
+    @BeforeEach
+    void setUp() {
+        ProviderCapabilities capabilities = new ProviderCapabilities();
+        capabilities.registry = new SimpleMeterRegistry();
+        capabilities.failureThreshold = 3;
+        exchangeRateService.capabilities = capabilities;
+
+        api1Provider = provider("API1");
+        api2Provider = provider("API2");
+        when(providerInstance.stream()).thenAnswer(invocation -> Stream.of(api1Provider, api2Provider));
+
+        lenient().when(rateCache.getExchangeRate(any(), any(), any(), any()))
+            .thenAnswer(invocation -> invocation.<Function<Deadline, Uni<BigDecimal>>>getArgument(3)
+                .apply(invocation.getArgument(2)));
+        lenient().when(hedgingPolicy.hedge(any(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<Uni<BigDecimal>>>getArgument(1).get());
+        lenient().when(concurrencyLimiter.limit(any(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<Uni<BigDecimal>>>getArgument(1).get());
+        lenient().when(metrics.trackCall(any(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+
+        // Both providers quote USD->GBP, so failures on other pairs are about the pair
+        lenient().when(api1Provider.getExchangeRate(eq(unit(USD_GBP)), any())).thenReturn(Uni.createFrom().item(new BigDecimal("0.79")));
+        lenient().when(api2Provider.getExchangeRate(eq(unit(USD_GBP)), any())).thenReturn(Uni.createFrom().item(new BigDecimal("0.78")));
+        lenient().when(api2Provider.getExchangeRate(eq(unit(USD_EUR)), any())).thenReturn(Uni.createFrom().item(new BigDecimal("0.85")));
+        exchangeRateService.findBestExchangeRate(USD_GBP).await().atMost(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testPairThatKeepsFailingIsNoLongerDispatched() {
+        when(api1Provider.getExchangeRate(eq(unit(USD_EUR)), any()))
+            .thenReturn(Uni.createFrom().failure(new IllegalArgumentException("Unsupported currency pair")));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("API2", exchangeRateService.findBestExchangeRate(USD_EUR).await().atMost(Duration.ofSeconds(5)).provider());
+        }
+        ExchangeResponse result = exchangeRateService.findBestExchangeRate(USD_EUR).await().atMost(Duration.ofSeconds(5));
+
+        assertEquals(List.of("API2"), result.respondedProviders());
+        verify(api1Provider, times(3)).getExchangeRate(eq(unit(USD_EUR)), any());
+    }
+
+    @Test
+    void testOpenCircuitDoesNotCountAgainstPair() {
+        when(api1Provider.getExchangeRate(eq(unit(USD_EUR)), any()))
+            .thenReturn(Uni.createFrom().failure(new CircuitBreakerOpenException("API1 circuit is open")));
+
+        for (int i = 0; i < 4; i++) {
+            exchangeRateService.findBestExchangeRate(USD_EUR).await().atMost(Duration.ofSeconds(5));
+        }
+
+        verify(api1Provider, times(4)).getExchangeRate(eq(unit(USD_EUR)), any());
+    }
+
+    @Test
+    void testProviderFallbackDoesNotCountAgainstPair() {
+        // What Api3Provider answers in place of timeouts and exhausted retries
+        when(api1Provider.getExchangeRate(eq(unit(USD_EUR)), any()))
+            .thenReturn(Uni.createFrom().failure(new ProviderFallbackException("API1 is unavailable")));
+
+        for (int i = 0; i < 4; i++) {
+            exchangeRateService.findBestExchangeRate(USD_EUR).await().atMost(Duration.ofSeconds(5));
+        }
+
+        verify(api1Provider, times(4)).getExchangeRate(eq(unit(USD_EUR)), any());
+    }
+
+    private static ExchangeRequest unit(ExchangeRequest request) {
+        return new ExchangeRequest(request.sourceCurrency(), request.targetCurrency(), BigDecimal.ONE);
+    }
+
+    private static IExchangeProvider provider(String name) {
+        IExchangeProvider provider = mock(IExchangeProvider.class);
+        lenient().when(provider.name()).thenReturn(name);
+        lenient().when(provider.supports(any(), any())).thenReturn(true);
+        return provider;
+    }
+}
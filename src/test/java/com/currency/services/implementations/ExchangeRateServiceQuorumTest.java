@@ -0,0 +1,173 @@
+package com.currency.services.implementations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.currency.dto.request.ExchangeRequest;
+import com.currency.dto.response.ExchangeResponse;
+import com.currency.services.contracts.IAggregationMetrics;
+import com.currency.services.contracts.IConcurrencyLimiter;
+import com.currency.services.contracts.ICrossRateEngine;
+import com.currency.services.contracts.IExchangeProvider;
+import com.currency.services.contracts.IFlightRecorder;
+import com.currency.services.contracts.IHedgingPolicy;
+import com.currency.services.contracts.IMicroBatcher;
+import com.currency.services.contracts.IProviderCapabilities;
+import com.currency.services.contracts.IProviderLatencyTracker;
+import com.currency.services.contracts.IRateCache;
+import com.currency.services.contracts.IRatePrefetcher;
+import com.currency.services.contracts.IRateSnapshotStore;
+import com.currency.utils.Deadline;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.inject.Instance;
+
+/**
+ * Early completion of the aggregation: quorum, latency budget and cancellation of
+ * the provider calls still pending when it completes.
+ */
+@ExtendWith(MockitoExtension.class)
+class ExchangeRateServiceQuorumTest {
+
+    private static final ExchangeRequest USD_EUR = new ExchangeRequest("USD", "EUR", new BigDecimal("100.00"));
+
+    @Mock
+    Instance<IExchangeProvider> providerInstance;
+
+    @Mock
+    IRateCache rateCache;
+
+    @Mock
+    IProviderLatencyTracker latencyTracker;
+
+    @Mock
+    IHedgingPolicy hedgingPolicy;
+
+    @Mock
+    IConcurrencyLimiter concurrencyLimiter;
+
+    @Mock
+    ICrossRateEngine crossRateEngine;
+
+    @Mock
+    IRateSnapshotStore snapshotStore;
+
+    @Mock
+    IRatePrefetcher ratePrefetcher;
+
+    @Mock
+    IProviderCapabilities capabilities;
+
+    @Mock
+    IMicroBatcher microBatcher;
+
+    @Mock
+    IFlightRecorder flightRecorder;
+
+    @Mock
+    IAggregationMetrics metrics;
+
+    @InjectMocks
+    ExchangeRateService exchangeRateService;
+
+    private IExchangeProvider api1Provider;
+    private IExchangeProvider api2Provider;
+    private IExchangeProvider api3Provider;
+
+    @BeforeEach
+    void setUp() {
+        api1Provider = provider("API1");
+        api2Provider = provider("API2");
+        api3Provider = provider("API3");
+        when(providerInstance.stream()).thenAnswer(invocation -> Stream.of(api1Provider, api2Provider, api3Provider));
+
+        lenient().when(rateCache.getExchangeRate(any(), any(), any(), any()))
+            .thenAnswer(invocation -> invocation.<Function<Deadline, Uni<BigDecimal>>>getArgument(3)
+                .apply(invocation.getArgument(2)));
+        lenient().when(hedgingPolicy.hedge(any(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<Uni<BigDecimal>>>getArgument(1).get());
+        lenient().when(concurrencyLimiter.limit(any(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<Uni<BigDecimal>>>getArgument(1).get());
+        lenient().when(capabilities.canQuote(any(), any(), any())).thenReturn(true);
+        lenient().when(metrics.trackCall(any(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+    }
+
+    @Test
+    void testCompletesOnceQuorumIsReached() {
+        exchangeRateService.quorum = 2;
+        when(api1Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(new BigDecimal("0.85")));
+        when(api2Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(new BigDecimal("0.86")));
+        when(api3Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().nothing());
+
+        ExchangeResponse result = exchangeRateService.findBestExchangeRate(USD_EUR)
+            .await().atMost(Duration.ofSeconds(5));
+
+        assertEquals("API2", result.provider());
+        assertEquals(List.of("API1", "API2"), result.respondedProviders());
+        assertEquals(List.of("API3"), result.cutOffProviders());
+    }
+
+    @Test
+    void testLatencyBudgetCutsOffSlowProviders() {
+        exchangeRateService.latencyBudget = Optional.of(Duration.ofMillis(100));
+        when(api1Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().item(new BigDecimal("0.85")));
+        when(api2Provider.getExchangeRate(any(), any())).thenReturn(Uni.createFrom().nothing());
+        when(api3Provider.getExchangeRate(any(), any()))
+            .thenReturn(Uni.createFrom().item(new BigDecimal("0.90")).onItem().delayIt().by(Duration.ofSeconds(5)));
+
+        long start = System.nanoTime();
+        ExchangeResponse result = exchangeRateService.findBestExchangeRate(USD_EUR)
+            .await().atMost(Duration.ofSeconds(2));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+        assertEquals("API1", result.provider());
+        assertEquals(List.of("API1"), result.respondedProviders());
+        assertEquals(List.of("API2", "API3"), result.cutOffProviders());
+    }
+
+    @Test
+    void testPendingCallsAreCancelledOnCompletion() {
+        exchangeRateService.quorum = 1;
+        exchangeRateService.latencyBudget = Optional.of(Duration.ofSeconds(30));
+        AtomicBoolean api2Cancelled = new AtomicBoolean();
+        AtomicBoolean api3Cancelled = new AtomicBoolean();
+        when(api1Provider.getExchangeRate(any(), any()))
+            .thenReturn(Uni.createFrom().item(new BigDecimal("0.85")).onItem().delayIt().by(Duration.ofMillis(50)));
+        when(api2Provider.getExchangeRate(any(), any()))
+            .thenReturn(Uni.createFrom().<BigDecimal>nothing().onCancellation().invoke(() -> api2Cancelled.set(true)));
+        when(api3Provider.getExchangeRate(any(), any()))
+            .thenReturn(Uni.createFrom().<BigDecimal>nothing().onCancellation().invoke(() -> api3Cancelled.set(true)));
+
+        ExchangeResponse result = exchangeRateService.findBestExchangeRate(USD_EUR)
+            .await().atMost(Duration.ofSeconds(5));
+
+        assertEquals("API1", result.provider());
+        assertTrue(api2Cancelled.get());
+        assertTrue(api3Cancelled.get());
+        // Cancelled calls leave no latency sample behind
+        verify(latencyTracker, times(1)).record(any(), anyLong());
+    }
+
+    private static IExchangeProvider provider(String name) {
+        IExchangeProvider provider = mock(IExchangeProvider.class);
+        lenient().when(provider.name()).thenReturn(name);
+        return provider;
+    }
+}
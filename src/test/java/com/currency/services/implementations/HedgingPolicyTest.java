@@ -0,0 +1,148 @@
+package com.currency.services.implementations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.currency.services.contracts.IProviderLatencyTracker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+
+class HedgingPolicyTest {
+
+    private HedgingPolicy policy;
+    private IProviderLatencyTracker latencyTracker;
+
+    @BeforeEach
+    void setUp() {
+        latencyTracker = mock(IProviderLatencyTracker.class);
+        policy = new HedgingPolicy();
+        policy.latencyTracker = latencyTracker;
+        policy.registry = new SimpleMeterRegistry();
+        policy.hedgedProviders = Optional.of(List.of("API1"));
+        policy.maxRatio = 1.0;
+        policy.maxBurst = 10;
+    }
+
+    @Test
+    void testHedgeIsSentOnlyAfterP95() {
+        when(latencyTracker.percentile("API1", 0.95)).thenReturn(Optional.of(Duration.ofMillis(300)));
+
+        // Answering within the p95 never sends the hedge
+        AtomicInteger fastCalls = new AtomicInteger();
+        String fast = policy.hedge("API1", () -> {
+            fastCalls.incrementAndGet();
+            return Uni.createFrom().item("primary").onItem().delayIt().by(Duration.ofMillis(50));
+        }).await().atMost(Duration.ofSeconds(5));
+        assertEquals("primary", fast);
+        assertEquals(1, fastCalls.get());
+
+        List<Long> sentAt = new CopyOnWriteArrayList<>();
+        long start = System.nanoTime();
+        String slow = policy.hedge("API1", () -> {
+            sentAt.add(System.nanoTime() - start);
+            return sentAt.size() == 1
+                ? Uni.createFrom().item("primary").onItem().delayIt().by(Duration.ofSeconds(2))
+                : Uni.createFrom().item("hedge");
+        }).await().atMost(Duration.ofSeconds(5));
+
+        assertEquals("hedge", slow);
+        assertEquals(2, sentAt.size());
+        assertTrue(sentAt.get(1) >= Duration.ofMillis(300).toNanos());
+        assertEquals(1, fastCalls.get());
+        assertEquals(1.0, hedges("issued"));
+        assertEquals(1.0, hedges("won"));
+    }
+
+    @Test
+    void testTokenBucketCapsHedgesAtRatioPlusBurst() {
+        policy.maxRatio = 0.1;
+        policy.maxBurst = 3;
+
+        // Without a p95 nothing is hedged, but primaries still earn tokens up to the burst
+        when(latencyTracker.percentile("API1", 0.95)).thenReturn(Optional.empty());
+        for (int i = 0; i < 100; i++) {
+            policy.hedge("API1", () -> Uni.createFrom().item("primary")).await().indefinitely();
+        }
+
+        when(latencyTracker.percentile("API1", 0.95)).thenReturn(Optional.of(Duration.ofMillis(20)));
+        Supplier<Uni<String>> slowCall = () -> Uni.createFrom().item("primary").onItem().delayIt().by(Duration.ofMillis(300));
+
+        // A full bucket covers a burst of three hedges and no more
+        slowRound(slowCall);
+        assertEquals(3.0, hedges("issued"));
+        assertEquals(7.0, hedges("rejected"));
+
+        // Once drained, ten primaries earn a single hedge
+        slowRound(slowCall);
+        assertEquals(4.0, hedges("issued"));
+        assertEquals(16.0, hedges("rejected"));
+    }
+
+    @Test
+    void testLosingCallIsCancelled() {
+        when(latencyTracker.percentile("API1", 0.95)).thenReturn(Optional.of(Duration.ofMillis(20)));
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+        AtomicInteger calls = new AtomicInteger();
+
+        String rate = policy.hedge("API1", () -> calls.incrementAndGet() == 1
+            ? Uni.createFrom().<String>nothing().onCancellation().invoke(() -> primaryCancelled.set(true))
+            : Uni.createFrom().item("hedge")).await().atMost(Duration.ofSeconds(5));
+
+        assertEquals("hedge", rate);
+        assertTrue(primaryCancelled.get());
+    }
+
+    @Test
+    void testNoHedgeWhenPrimaryFailsFast() throws InterruptedException {
+        when(latencyTracker.percentile("API1", 0.95)).thenReturn(Optional.of(Duration.ofMillis(100)));
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> policy.hedge("API1", () -> {
+            calls.incrementAndGet();
+            return Uni.createFrom().<String>failure(new IllegalStateException("down"));
+        }).await().atMost(Duration.ofSeconds(5)));
+
+        Thread.sleep(300);
+        assertEquals(1, calls.get());
+        assertEquals(0.0, hedges("issued"));
+    }
+
+    @Test
+    void testUnhedgedProviderIsCalledOnce() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String rate = policy.hedge("API2", () -> {
+            calls.incrementAndGet();
+            return Uni.createFrom().item("primary");
+        }).await().atMost(Duration.ofSeconds(5));
+
+        assertEquals("primary", rate);
+        assertEquals(1, calls.get());
+        verifyNoInteractions(latencyTracker);
+    }
+
+    private void slowRound(Supplier<Uni<String>> call) {
+        List<Uni<String>> calls = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            calls.add(policy.hedge("API1", call));
+        }
+        Uni.join().all(calls).andFailFast().await().atMost(Duration.ofSeconds(5));
+    }
+
+    private double hedges(String outcome) {
+        return policy.registry.counter("exchange.provider.hedges", "provider", "API1", "outcome", outcome).count();
+    }
+}
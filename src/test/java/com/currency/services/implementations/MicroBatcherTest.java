@@ -0,0 +1,103 @@
+package com.currency.services.implementations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.currency.dto.request.ExchangeRequest;
+import com.currency.services.contracts.IBatchExchangeProvider;
+import com.currency.utils.Deadline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+
+class MicroBatcherTest {
+
+    private static final ExchangeRequest USD_EUR = new ExchangeRequest("USD", "EUR", BigDecimal.ONE);
+    private static final ExchangeRequest USD_GBP = new ExchangeRequest("USD", "GBP", BigDecimal.ONE);
+
+    private MicroBatcher batcher;
+    private final StubProvider provider = new StubProvider();
+
+    @BeforeEach
+    void setUp() {
+        batcher = new MicroBatcher();
+        batcher.registry = new SimpleMeterRegistry();
+        batcher.enabled = true;
+        batcher.window = Duration.ofMillis(50);
+        batcher.maxSize = 10;
+    }
+
+    @Test
+    void testRequestsWithinWindowShareOneCall() {
+        Uni<BigDecimal> eur = batcher.submit(provider, USD_EUR, Deadline.none()).memoize().indefinitely();
+        Uni<BigDecimal> gbp = batcher.submit(provider, USD_GBP, Deadline.none()).memoize().indefinitely();
+        eur.subscribe().with(rate -> {});
+        gbp.subscribe().with(rate -> {});
+
+        assertEquals(new BigDecimal("0.85"), eur.await().atMost(Duration.ofSeconds(5)));
+        assertEquals(new BigDecimal("0.75"), gbp.await().atMost(Duration.ofSeconds(5)));
+        assertEquals(List.of(List.of(USD_EUR, USD_GBP)), provider.batches);
+        assertEquals(1.0, batcher.registry.counter("exchange.micro-batch.flushes",
+            "provider", "STUB", "reason", "window").count());
+    }
+
+    @Test
+    void testFullBatchIsSentWithoutWaitingForWindow() {
+        batcher.window = Duration.ofSeconds(30);
+        batcher.maxSize = 2;
+
+        batcher.submit(provider, USD_EUR, Deadline.none()).subscribe().with(rate -> {});
+        BigDecimal rate = batcher.submit(provider, USD_GBP, Deadline.none()).await().atMost(Duration.ofSeconds(5));
+
+        assertEquals(new BigDecimal("0.75"), rate);
+        assertEquals(1, provider.batches.size());
+        assertEquals(1.0, batcher.registry.counter("exchange.micro-batch.flushes",
+            "provider", "STUB", "reason", "size").count());
+    }
+
+    @Test
+    void testDisabledBatchingCallsProviderDirectly() {
+        batcher.enabled = false;
+
+        BigDecimal rate = batcher.submit(provider, USD_EUR, Deadline.none()).await().atMost(Duration.ofSeconds(5));
+
+        assertEquals(new BigDecimal("0.85"), rate);
+        assertTrue(provider.batches.isEmpty());
+    }
+
+    private static final class StubProvider implements IBatchExchangeProvider {
+        final List<List<ExchangeRequest>> batches = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String name() {
+            return "STUB";
+        }
+
+        @Override
+        public boolean supportsBatch() {
+            return true;
+        }
+
+        @Override
+        public Uni<BigDecimal> getExchangeRate(ExchangeRequest request, Deadline deadline) {
+            return Uni.createFrom().item(rateOf(request));
+        }
+
+        @Override
+        public Uni<List<BigDecimal>> getExchangeRates(List<ExchangeRequest> requests, Deadline deadline) {
+            batches.add(List.copyOf(requests));
+            return Uni.createFrom().item(requests.stream().map(StubProvider::rateOf).toList());
+        }
+
+        private static BigDecimal rateOf(ExchangeRequest request) {
+            return "EUR".equals(request.targetCurrency()) ? new BigDecimal("0.85") : new BigDecimal("0.75");
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.currency.services.implementations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.currency.dto.request.ExchangeRequest;
+import com.currency.services.contracts.IExchangeProvider;
+import com.currency.utils.Deadline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+
+class ProviderCapabilitiesTest {
+
+    private ProviderCapabilities capabilities;
+    private final IExchangeProvider provider = new StubProvider(Set.of("USD", "EUR", "GBP"));
+
+    @BeforeEach
+    void setUp() {
+        capabilities = new ProviderCapabilities();
+        capabilities.registry = new SimpleMeterRegistry();
+        capabilities.failureThreshold = 2;
+        capabilities.negativeTtl = Duration.ofMinutes(1);
+    }
+
+    @Test
+    void testDeclaredCurrenciesAreRespected() {
+        assertTrue(capabilities.canQuote(provider, "USD", "EUR"));
+        assertFalse(capabilities.canQuote(provider, "USD", "JPY"));
+    }
+
+    @Test
+    void testRepeatedFailuresOfOnePairAreCachedNegatively() {
+        capabilities.record(provider, "USD", "GBP", true);
+
+        capabilities.record(provider, "USD", "EUR", false);
+        assertTrue(capabilities.canQuote(provider, "USD", "EUR"));
+        capabilities.record(provider, "USD", "EUR", false);
+
+        assertFalse(capabilities.canQuote(provider, "USD", "EUR"));
+        assertTrue(capabilities.canQuote(provider, "USD", "GBP"));
+        assertEquals(1.0, capabilities.registry.counter("exchange.provider.capability.learned", "provider", "STUB").count());
+    }
+
+    @Test
+    void testFailuresOfAProviderWithoutQuotesAreNotLearned() {
+        capabilities.record(provider, "EUR", "GBP", false);
+        capabilities.record(provider, "EUR", "GBP", false);
+        capabilities.record(provider, "EUR", "GBP", false);
+
+        assertTrue(capabilities.canQuote(provider, "EUR", "GBP"));
+    }
+
+    private record StubProvider(Set<String> currencies) implements IExchangeProvider {
+        @Override
+        public String name() {
+            return "STUB";
+        }
+
+        @Override
+        public Uni<BigDecimal> getExchangeRate(ExchangeRequest request, Deadline deadline) {
+            return Uni.createFrom().nullItem();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.currency.services.implementations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.currency.dto.request.ExchangeRequest;
+import com.currency.services.contracts.IExchangeProvider;
+import com.currency.utils.Deadline;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+
+@ExtendWith(MockitoExtension.class)
+class RateCacheTest {
+
+    @Spy
+    MeterRegistry registry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    RateCache rateCache;
+
+    private IExchangeProvider provider;
+    private AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    void setUp() {
+        provider = mock(IExchangeProvider.class);
+        lenient().when(provider.name()).thenReturn("API1");
+        upstreamCalls = new AtomicInteger();
+    }
+
+    private Function<Deadline, Uni<BigDecimal>> loaderReturning(BigDecimal rate) {
+        return deadline -> {
+            upstreamCalls.incrementAndGet();
+            return Uni.createFrom().item(rate);
+        };
+    }
+
+    @Test
+    void testSamePairIsServedFromCache() {
+        Function<Deadline, Uni<BigDecimal>> loader = loaderReturning(new BigDecimal("0.85"));
+
+        BigDecimal first = rateCache.getExchangeRate(provider, new ExchangeRequest("USD", "EUR", BigDecimal.TEN), Deadline.none(), loader)
+            .await().indefinitely();
+        BigDecimal second = rateCache.getExchangeRate(provider, new ExchangeRequest("USD", "EUR", BigDecimal.ONE), Deadline.none(), loader)
+            .await().indefinitely();
+
+        assertEquals(new BigDecimal("0.85"), first);
+        assertEquals(new BigDecimal("0.85"), second);
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1.0, registry.counter("exchange.rate.cache.requests", "provider", "API1", "result", "hit").count());
+    }
+
+    @Test
+    void testConcurrentMissesShareOneUpstreamCall() {
+        AtomicReference<UniEmitter<? super BigDecimal>> pending = new AtomicReference<>();
+        Function<Deadline, Uni<BigDecimal>> loader = deadline -> {
+            upstreamCalls.incrementAndGet();
+            return Uni.createFrom().<BigDecimal>emitter(pending::set);
+        };
+        ExchangeRequest request = new ExchangeRequest("USD", "EUR", BigDecimal.TEN);
+
+        AtomicReference<BigDecimal> first = new AtomicReference<>();
+        AtomicReference<BigDecimal> second = new AtomicReference<>();
+        rateCache.getExchangeRate(provider, request, Deadline.none(), loader).subscribe().with(first::set);
+        rateCache.getExchangeRate(provider, request, Deadline.none(), loader).subscribe().with(second::set);
+
+        pending.get().complete(new BigDecimal("0.86"));
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(new BigDecimal("0.86"), first.get());
+        assertEquals(new BigDecimal("0.86"), second.get());
+    }
+
+    @Test
+    void testFailedLookupIsNotCached() {
+        Function<Deadline, Uni<BigDecimal>> loader = loaderReturning(null);
+        ExchangeRequest request = new ExchangeRequest("USD", "EUR", BigDecimal.TEN);
+
+        rateCache.getExchangeRate(provider, request, Deadline.none(), loader).await().indefinitely();
+        rateCache.getExchangeRate(provider, request, Deadline.none(), loader).await().indefinitely();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testPairsAreCachedSeparately() {
+        Function<Deadline, Uni<BigDecimal>> loader = loaderReturning(new BigDecimal("0.85"));
+
+        rateCache.getExchangeRate(provider, new ExchangeRequest("USD", "EUR", BigDecimal.ONE), Deadline.none(), loader).await().indefinitely();
+        rateCache.getExchangeRate(provider, new ExchangeRequest("USD", "GBP", BigDecimal.ONE), Deadline.none(), loader).await().indefinitely();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testRefreshReloadsThroughLastLoader() {
+        ExchangeRequest request = new ExchangeRequest("USD", "EUR", BigDecimal.ONE);
+        Function<Deadline, Uni<BigDecimal>> loader = deadline -> Uni.createFrom()
+            .item(new BigDecimal("0.8" + upstreamCalls.incrementAndGet()));
+
+        assertEquals(Optional.empty(), rateCache.timeToExpiry(provider, request));
+
+        rateCache.getExchangeRate(provider, request, Deadline.none(), loader).await().indefinitely();
+        Duration remaining = rateCache.timeToExpiry(provider, request).orElseThrow();
+        assertTrue(remaining.compareTo(Duration.ofSeconds(29)) > 0);
+
+        assertEquals(new BigDecimal("0.82"), rateCache.refresh(provider, request).await().indefinitely());
+        assertEquals(new BigDecimal("0.82"), rateCache.getExchangeRate(provider, request, Deadline.none(), loader).await().indefinitely());
+        assertEquals(2, upstreamCalls.get());
+    }
+}
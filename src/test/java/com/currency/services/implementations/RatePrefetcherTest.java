@@ -0,0 +1,160 @@
+package com.currency.services.implementations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.currency.dto.request.ExchangeRequest;
+import com.currency.services.contracts.IExchangeProvider;
+import com.currency.services.contracts.IRateCache;
+import com.currency.utils.CurrencyRegistry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.inject.Instance;
+
+@ExtendWith(MockitoExtension.class)
+class RatePrefetcherTest {
+
+    @Mock
+    Instance<IExchangeProvider> providerInstance;
+
+    @Mock
+    IRateCache rateCache;
+
+    @Mock
+    IExchangeProvider provider;
+
+    private RatePrefetcher prefetcher;
+
+    @BeforeEach
+    void setUp() {
+        prefetcher = new RatePrefetcher();
+        prefetcher.providerInstance = providerInstance;
+        prefetcher.rateCache = rateCache;
+        prefetcher.registry = new SimpleMeterRegistry();
+        prefetcher.minHits = 5;
+        prefetcher.topK = 32;
+        prefetcher.lead = Duration.ofSeconds(5);
+        prefetcher.spread = Duration.ofSeconds(10);
+        prefetcher.cacheTtl = Duration.ofSeconds(30);
+        prefetcher.maxCallsPerSecond = 100;
+        // Ticks are driven by the tests, the schedule never fires
+        prefetcher.interval = Duration.ofHours(1);
+        prefetcher.start();
+
+        lenient().when(provider.name()).thenReturn("API1");
+        lenient().when(providerInstance.iterator()).thenAnswer(invocation -> List.of(provider).iterator());
+        lenient().when(rateCache.refresh(any(), any())).thenReturn(Uni.createFrom().item(BigDecimal.ONE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        prefetcher.stop();
+    }
+
+    @Test
+    void testRanksPairsByRequestsAboveMinHits() {
+        request("USD", "EUR", 10);
+        request("USD", "GBP", 6);
+        request("USD", "JPY", 3);
+
+        assertEquals(List.of("USD->EUR", "USD->GBP"), describe(prefetcher.rankHotPairs()));
+    }
+
+    @Test
+    void testKeepsOnlyTopKPairs() {
+        prefetcher.topK = 2;
+        request("EUR", "USD", 7);
+        request("EUR", "GBP", 9);
+        request("EUR", "JPY", 12);
+
+        assertEquals(List.of("EUR->JPY", "EUR->GBP"), describe(prefetcher.rankHotPairs()));
+    }
+
+    @Test
+    void testRefreshesHotPairsAboutToExpire() {
+        request("GBP", "USD", 10);
+        request("GBP", "EUR", 10);
+        ExchangeRequest expiring = new ExchangeRequest("GBP", "USD", BigDecimal.ONE);
+        ExchangeRequest fresh = new ExchangeRequest("GBP", "EUR", BigDecimal.ONE);
+        when(rateCache.timeToExpiry(provider, expiring)).thenReturn(Optional.of(Duration.ofSeconds(1)));
+        when(rateCache.timeToExpiry(provider, fresh)).thenReturn(Optional.of(Duration.ofSeconds(25)));
+
+        prefetcher.tick();
+
+        verify(rateCache).refresh(provider, expiring);
+        verify(rateCache, never()).refresh(provider, fresh);
+        assertEquals(1.0, refreshes("success"));
+    }
+
+    @Test
+    void testTokenBucketThrottlesRefreshesPerProvider() {
+        prefetcher.maxCallsPerSecond = 2;
+        for (String target : new String[] { "USD", "EUR", "GBP", "CHF", "CAD" }) {
+            request("JPY", target, 10);
+        }
+        when(rateCache.timeToExpiry(eq(provider), any())).thenReturn(Optional.of(Duration.ofSeconds(1)));
+
+        prefetcher.tick();
+
+        verify(rateCache, times(2)).refresh(eq(provider), any());
+        assertEquals(2.0, refreshes("success"));
+        assertEquals(3.0, refreshes("throttled"));
+    }
+
+    @Test
+    void testSpreadIsCappedAtHalfTheCacheTtl() {
+        // A lead beyond half the TTL leaves the cap as the due point for every pair
+        prefetcher.lead = Duration.ofSeconds(20);
+        request("CHF", "USD", 10);
+        request("CHF", "EUR", 10);
+        ExchangeRequest belowCap = new ExchangeRequest("CHF", "USD", BigDecimal.ONE);
+        ExchangeRequest aboveCap = new ExchangeRequest("CHF", "EUR", BigDecimal.ONE);
+        when(rateCache.timeToExpiry(provider, belowCap)).thenReturn(Optional.of(Duration.ofSeconds(14)));
+        when(rateCache.timeToExpiry(provider, aboveCap)).thenReturn(Optional.of(Duration.ofSeconds(16)));
+
+        prefetcher.tick();
+
+        verify(rateCache).refresh(provider, belowCap);
+        verify(rateCache, never()).refresh(provider, aboveCap);
+    }
+
+    @Test
+    void testPairsWithoutCachedRateAreSkipped() {
+        request("CAD", "USD", 10);
+        when(rateCache.timeToExpiry(eq(provider), any())).thenReturn(Optional.empty());
+
+        prefetcher.tick();
+
+        verify(rateCache, never()).refresh(any(), any());
+    }
+
+    private void request(String sourceCurrency, String targetCurrency, int times) {
+        for (int i = 0; i < times; i++) {
+            prefetcher.recordRequest(sourceCurrency, targetCurrency);
+        }
+    }
+
+    private static List<String> describe(int[] pairs) {
+        return Arrays.stream(pairs).mapToObj(CurrencyRegistry::describe).toList();
+    }
+
+    private double refreshes(String result) {
+        return prefetcher.registry.counter("exchange.prefetch.refreshes", "provider", "API1", "result", result).count();
+    }
+}
@@ -0,0 +1,99 @@
+package com.currency.services.implementations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.currency.services.contracts.IRateSnapshotStore.Snapshot;
+
+class RateSnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private RateSnapshotStore store;
+
+    private RateSnapshotStore openStore() {
+        RateSnapshotStore opened = new RateSnapshotStore();
+        opened.path = directory.resolve("snapshot.bin");
+        opened.maxEntries = 4;
+        opened.flushInterval = Duration.ofHours(1);
+        opened.open();
+        return opened;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void testBestRecentRateIsReturned() {
+        store = openStore();
+        store.record("API1", "USD", "EUR", new BigDecimal("0.85"));
+        store.record("API2", "USD", "EUR", new BigDecimal("0.86"));
+
+        Snapshot snapshot = store.lastKnownGood("USD", "EUR").orElseThrow();
+
+        assertEquals("API2", snapshot.provider());
+        assertEquals(new BigDecimal("0.86"), snapshot.rate());
+        assertTrue(store.lastKnownGood("EUR", "USD").isEmpty());
+    }
+
+    @Test
+    void testSnapshotSurvivesRestart() {
+        store = openStore();
+        store.record("API1", "USD", "EUR", new BigDecimal("0.8512"));
+        store.record("API3", "USD", "DOP", new BigDecimal("58.7"));
+        store.close();
+
+        store = openStore();
+
+        assertEquals(new BigDecimal("0.8512"), store.lastKnownGood("USD", "EUR").orElseThrow().rate());
+        assertEquals("API3", store.lastKnownGood("USD", "DOP").orElseThrow().provider());
+    }
+
+    @Test
+    void testCorruptSlotIsIgnored() throws Exception {
+        store = openStore();
+        store.record("API1", "USD", "EUR", new BigDecimal("0.85"));
+        store.close();
+
+        // Flip a byte of the rate in the first slot so that its checksum no longer matches
+        try (FileChannel channel = FileChannel.open(directory.resolve("snapshot.bin"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0x7f }), 16 + 30);
+        }
+
+        store = openStore();
+
+        assertTrue(store.lastKnownGood("USD", "EUR").isEmpty());
+    }
+
+    @Test
+    void testOldestEntryIsEvictedWhenFull() throws InterruptedException {
+        store = openStore();
+        for (String target : new String[] { "EUR", "GBP", "JPY", "CHF", "CAD" }) {
+            store.record("API1", "USD", target, BigDecimal.ONE);
+            store.flush();
+            // Entries are aged by their millisecond timestamp
+            Thread.sleep(2);
+        }
+        store.close();
+
+        store = openStore();
+
+        assertTrue(store.lastKnownGood("USD", "EUR").isEmpty());
+        assertTrue(store.lastKnownGood("USD", "CAD").isPresent());
+    }
+}
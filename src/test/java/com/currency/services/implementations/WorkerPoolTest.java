@@ -0,0 +1,76 @@
+package com.currency.services.implementations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.currency.exceptions.OverloadedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class WorkerPoolTest {
+
+    private WorkerPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new WorkerPool();
+        pool.registry = new SimpleMeterRegistry();
+        pool.size = 1;
+        pool.queueSize = 1;
+        pool.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.stop();
+    }
+
+    @Test
+    void testStageRunsOnCallerUnlessOffloaded() {
+        String caller = Thread.currentThread().getName();
+
+        String inline = pool.run("API2", "decode", false, () -> Thread.currentThread().getName())
+            .await().atMost(Duration.ofSeconds(5));
+        String offloaded = pool.run("API2", "decode", true, () -> Thread.currentThread().getName())
+            .await().atMost(Duration.ofSeconds(5));
+
+        assertEquals(caller, inline);
+        assertTrue(offloaded.startsWith("exchange-worker-"), offloaded);
+        assertEquals(1, pool.registry.timer("exchange.provider.stage",
+            "provider", "API2", "stage", "decode", "thread", WorkerPool.WORKER).count());
+        assertEquals(1, pool.registry.timer("exchange.provider.stage",
+            "provider", "API2", "stage", "decode", "thread", WorkerPool.OTHER).count());
+    }
+
+    @Test
+    void testFullQueueFailsInsteadOfRunningOnCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        pool.run("API2", "decode", true, () -> {
+            running.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }).subscribe().with(ignored -> {});
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        pool.run("API2", "decode", true, () -> "queued").subscribe().with(ignored -> {});
+
+        assertThrows(OverloadedException.class,
+            () -> pool.run("API2", "decode", true, () -> "rejected").await().atMost(Duration.ofSeconds(5)));
+        release.countDown();
+        assertEquals(1.0, pool.registry.counter("exchange.worker-pool.rejected",
+            "provider", "API2", "stage", "decode").count());
+    }
+
+    @Test
+    void testStageFailureIsPropagated() {
+        assertThrows(IllegalArgumentException.class,
+            () -> pool.run("API3", "convert", true, () -> { throw new IllegalArgumentException("bad quote"); })
+                .await().atMost(Duration.ofSeconds(5)));
+    }
+}
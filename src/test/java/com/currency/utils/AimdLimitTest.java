@@ -0,0 +1,84 @@
+package com.currency.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class AimdLimitTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(5).toNanos();
+
+    @Test
+    void testRejectsOverLimit() {
+        AimdLimit limit = new AimdLimit(2, 1, 10, 0.5, Duration.ofSeconds(1));
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        limit.release();
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void testGrowsWhileFastAndBusy() {
+        AimdLimit limit = new AimdLimit(4, 1, 10, 0.5, Duration.ofSeconds(1));
+
+        for (int round = 0; round < 20; round++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limit.release(FAST, false);
+            }
+        }
+
+        assertEquals(10, limit.limit());
+        assertEquals(0, limit.inflight());
+    }
+
+    @Test
+    void testBacksOffOnDropsAndSlowCalls() throws InterruptedException {
+        AimdLimit limit = new AimdLimit(8, 2, 10, 0.5, Duration.ofMillis(50));
+
+        limit.tryAcquire();
+        limit.release(FAST, true);
+        assertEquals(4, limit.limit());
+
+        Thread.sleep(60);
+        limit.tryAcquire();
+        limit.release(SLOW, false);
+        assertEquals(2, limit.limit());
+
+        Thread.sleep(60);
+
+        limit.tryAcquire();
+        limit.release(FAST, true);
+        assertEquals(2, limit.limit());
+    }
+
+    @Test
+    void testConcurrentDropsBackOffOncePerWindow() throws InterruptedException {
+        AimdLimit limit = new AimdLimit(100, 2, 100, 0.9, Duration.ofSeconds(1));
+        int burst = 50;
+        for (int i = 0; i < burst; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+
+        Thread[] threads = new Thread[burst];
+        for (int i = 0; i < burst; i++) {
+            threads[i] = new Thread(() -> limit.release(SLOW, true));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(90, limit.limit());
+        assertEquals(0, limit.inflight());
+    }
+}
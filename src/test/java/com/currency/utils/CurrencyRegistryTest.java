@@ -0,0 +1,49 @@
+package com.currency.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class CurrencyRegistryTest {
+
+    @Test
+    void testEncodeRoundTrip() {
+        assertEquals(0, CurrencyRegistry.encode("AAA"));
+        assertEquals(CurrencyRegistry.CODES - 1, CurrencyRegistry.encode("ZZZ"));
+        assertEquals(CurrencyRegistry.encode("USD"), CurrencyRegistry.encode("usd"));
+        assertEquals("DOP", CurrencyRegistry.decode(CurrencyRegistry.encode("DOP")));
+    }
+
+    @Test
+    void testEncodeRejectsInvalidCodes() {
+        assertEquals(-1, CurrencyRegistry.encode(null));
+        assertEquals(-1, CurrencyRegistry.encode("US"));
+        assertEquals(-1, CurrencyRegistry.encode("US1"));
+        assertEquals(-1, CurrencyRegistry.encode("U@D"));
+        assertEquals(-1, CurrencyRegistry.encode("U[D"));
+    }
+
+    @Test
+    void testPairKeyRoundTrip() {
+        int usd = CurrencyRegistry.idOf("USD");
+        int eur = CurrencyRegistry.idOf("EUR");
+        int pair = CurrencyRegistry.pairKey("USD", "EUR");
+
+        assertEquals(usd, CurrencyRegistry.idOf("usd"));
+        assertEquals(usd, CurrencyRegistry.sourceOf(pair));
+        assertEquals(eur, CurrencyRegistry.targetOf(pair));
+        assertEquals("USD->EUR", CurrencyRegistry.describe(pair));
+        assertNotEquals(pair, CurrencyRegistry.pairKey("EUR", "USD"));
+        assertEquals(-1, CurrencyRegistry.pairKey("USD", "E1R"));
+    }
+
+    @Test
+    void testPairTableIsIndexedByPairKey() {
+        PairTable<String> table = new PairTable<>();
+        int pair = CurrencyRegistry.pairKey("GBP", "JPY");
+
+        assertEquals("first", table.computeIfAbsent(pair, key -> "first"));
+        assertEquals("first", table.computeIfAbsent(pair, key -> "second"));
+        assertNull(table.get(CurrencyRegistry.pairKey("JPY", "GBP")));
+    }
+}
@@ -0,0 +1,76 @@
+package com.currency.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Property checks against BigDecimal over seeded random inputs, so failures are
+ * reproducible from the reported seed and operands.
+ */
+class FixedPointTest {
+
+    private static final long SEED = 0x5EEDL;
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void testMultiplyMatchesBigDecimalRounding() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            BigDecimal amount = randomDecimal(random, 12, 4);
+            BigDecimal rate = randomDecimal(random, 10, 12);
+
+            assertSameAsBigDecimal(amount, rate, 2);
+        }
+    }
+
+    @Test
+    void testMultiplyMatchesBigDecimalAcrossScalesAndSigns() {
+        Random random = new Random(SEED + 1);
+        for (int i = 0; i < SAMPLES; i++) {
+            BigDecimal a = randomDecimal(random, 19, 20);
+            BigDecimal b = randomDecimal(random, 19, 20);
+            if (random.nextBoolean()) {
+                a = a.negate();
+            }
+            int scale = random.nextInt(24) - 4;
+
+            assertSameAsBigDecimal(a, b, scale);
+        }
+    }
+
+    @Test
+    void testHalfUpTiesRoundAwayFromZero() {
+        assertEquals(new BigDecimal("0.13"), FixedPoint.multiply(new BigDecimal("0.25"), new BigDecimal("0.5"), 2));
+        assertEquals(new BigDecimal("-0.13"), FixedPoint.multiply(new BigDecimal("-0.25"), new BigDecimal("0.5"), 2));
+        assertEquals(new BigDecimal("0.12"), FixedPoint.multiply(new BigDecimal("0.249"), new BigDecimal("0.5"), 2));
+    }
+
+    @Test
+    void testOverflowIsReported() {
+        long big = FixedPoint.unscaled(new BigDecimal("999999999999999999"));
+
+        assertEquals(FixedPoint.OVERFLOW, FixedPoint.unscaled(new BigDecimal("1234567890123456789")));
+        assertEquals(FixedPoint.OVERFLOW, FixedPoint.multiply(big, 0, big, 0, 0));
+        assertEquals(FixedPoint.OVERFLOW, FixedPoint.multiply(big, 0, 1, 0, 20));
+        assertEquals(new BigDecimal("999999999999999998000000000000000001.00"),
+            FixedPoint.multiply(new BigDecimal("999999999999999999"), new BigDecimal("999999999999999999"), 2));
+    }
+
+    private static void assertSameAsBigDecimal(BigDecimal a, BigDecimal b, int scale) {
+        BigDecimal expected = a.multiply(b).setScale(scale, RoundingMode.HALF_UP);
+        BigDecimal actual = FixedPoint.multiply(a, b, scale);
+        assertEquals(expected, actual, () -> a + " * " + b + " at scale " + scale);
+    }
+
+    private static BigDecimal randomDecimal(Random random, int maxDigits, int maxScale) {
+        int digits = 1 + random.nextInt(maxDigits);
+        BigInteger unscaled = new BigInteger(digits * 4, random).mod(BigInteger.TEN.pow(digits));
+        return new BigDecimal(unscaled, random.nextInt(maxScale + 1));
+    }
+}
@@ -0,0 +1,54 @@
+package com.currency.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class FrequencySketchTest {
+
+    @Test
+    void testEstimateNeverUndercounts() {
+        FrequencySketch sketch = new FrequencySketch(256);
+        int[] counts = new int[CurrencyRegistry.PAIRS];
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(2_000);
+            counts[key]++;
+            sketch.increment(key);
+        }
+
+        for (int key = 0; key < 2_000; key++) {
+            assertTrue(sketch.estimate(key) >= counts[key], "Undercounted key " + key);
+        }
+    }
+
+    @Test
+    void testHotKeysStandOutFromBackground() {
+        FrequencySketch sketch = new FrequencySketch(4096);
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            sketch.increment(random.nextInt(CurrencyRegistry.PAIRS));
+        }
+        for (int i = 0; i < 500; i++) {
+            sketch.increment(1234);
+        }
+
+        assertTrue(sketch.estimate(1234) >= 500);
+        assertTrue(sketch.estimate(1234) < 520);
+    }
+
+    @Test
+    void testHalveAgesCounts() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        for (int i = 0; i < 10; i++) {
+            sketch.increment(5);
+        }
+
+        sketch.halve();
+
+        assertEquals(5, sketch.estimate(5));
+        assertEquals(6, sketch.increment(5));
+    }
+}
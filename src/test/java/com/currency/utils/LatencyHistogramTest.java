@@ -0,0 +1,51 @@
+package com.currency.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    private static final long SLOT_NANOS = 10_000_000_000L;
+
+    @Test
+    void testPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram(6, 10_000);
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000_000L, 0L);
+        }
+
+        assertEquals(1000, histogram.count(0L));
+        assertEquals(500_000, histogram.percentileMicros(0.5, 0L), 500_000 * 0.07);
+        assertEquals(990_000, histogram.percentileMicros(0.99, 0L), 990_000 * 0.07);
+    }
+
+    @Test
+    void testOldSlotsLeaveTheWindow() {
+        LatencyHistogram histogram = new LatencyHistogram(6, 10_000);
+        histogram.record(2_000_000_000L, 0L);
+        histogram.record(5_000_000L, 6 * SLOT_NANOS);
+
+        assertEquals(1, histogram.count(6 * SLOT_NANOS));
+        assertTrue(histogram.percentileMicros(0.99, 6 * SLOT_NANOS) < 10_000);
+    }
+
+    @Test
+    void testReadsServeSnapshotUntilRefresh() {
+        LatencyHistogram histogram = new LatencyHistogram(6, 10_000, 1_000);
+        histogram.record(5_000_000L, 0L);
+        assertEquals(1, histogram.count(0L));
+
+        histogram.record(2_000_000_000L, 500_000_000L);
+        assertEquals(1, histogram.count(500_000_000L));
+        assertTrue(histogram.percentileMicros(0.99, 500_000_000L) < 10_000);
+
+        assertEquals(2, histogram.count(1_000_000_000L));
+        assertTrue(histogram.percentileMicros(0.99, 1_000_000_000L) > 1_000_000);
+    }
+
+    @Test
+    void testEmptyWindow() {
+        assertEquals(-1, new LatencyHistogram(6, 10_000).percentileMicros(0.5, 0L));
+    }
+}
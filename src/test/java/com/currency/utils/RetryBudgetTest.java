@@ -0,0 +1,42 @@
+package com.currency.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class RetryBudgetTest {
+
+    @Test
+    void testBurstIsSpentThenRefusesRetries() {
+        RetryBudget budget = new RetryBudget(0.1, 2);
+
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+        assertEquals(2, budget.granted());
+        assertEquals(1, budget.rejected());
+    }
+
+    @Test
+    void testSuccessesEarnRetriesAtTheRatio() {
+        RetryBudget budget = new RetryBudget(0.1, 1);
+        budget.tryAcquire();
+
+        for (int i = 0; i < 9; i++) {
+            budget.onSuccess();
+        }
+        assertFalse(budget.tryAcquire());
+        budget.onSuccess();
+        assertTrue(budget.tryAcquire());
+    }
+
+    @Test
+    void testTokensAreCappedAtBurst() {
+        RetryBudget budget = new RetryBudget(1, 3);
+
+        for (int i = 0; i < 100; i++) {
+            budget.onSuccess();
+        }
+        assertEquals(3.0, budget.available());
+    }
+}
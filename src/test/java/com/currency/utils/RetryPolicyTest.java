@@ -0,0 +1,127 @@
+package com.currency.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.currency.jfr.ProviderCallEvent;
+
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class RetryPolicyTest {
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    private Supplier<Uni<String>> failingTimes(int failures) {
+        return () -> attempts.incrementAndGet() <= failures
+            ? Uni.createFrom().failure(new IllegalStateException("attempt " + attempts.get()))
+            : Uni.createFrom().item("ok");
+    }
+
+    @Test
+    void testRetriesUntilSuccess() {
+        RetryPolicy policy = new RetryPolicy("API", Duration.ofSeconds(1), 2, Duration.ofMillis(10), Duration.ofMillis(100),
+            Duration.ofMillis(10), RetryBudget.unlimited());
+
+        String result = policy.call(failingTimes(2), Deadline.none()).await().atMost(Duration.ofSeconds(5));
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void testNoRetryStartsThatCannotFinishBeforeDeadline() {
+        RetryPolicy policy = new RetryPolicy("API", Duration.ofSeconds(1), 3, Duration.ofMillis(500), Duration.ofMillis(500),
+            Duration.ofMillis(100), RetryBudget.unlimited());
+
+        assertThrows(IllegalStateException.class,
+            () -> policy.call(failingTimes(1), Deadline.after(Duration.ofMillis(300))).await().atMost(Duration.ofSeconds(5)));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void testAttemptTimeoutIsTrimmedToDeadline() {
+        RetryPolicy policy = new RetryPolicy("API", Duration.ofSeconds(10), 0, Duration.ZERO, Duration.ZERO, Duration.ZERO,
+            RetryBudget.unlimited());
+        long start = System.nanoTime();
+
+        assertThrows(TimeoutException.class,
+            () -> policy.call(() -> Uni.createFrom().nothing(), Deadline.after(Duration.ofMillis(100)))
+                .await().atMost(Duration.ofSeconds(5)));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+    }
+
+    @Test
+    void testExpiredDeadlineFailsWithTimeout() {
+        RetryPolicy policy = new RetryPolicy("API", Duration.ofSeconds(10), 0, Duration.ZERO, Duration.ZERO, Duration.ZERO,
+            RetryBudget.unlimited());
+
+        assertThrows(TimeoutException.class,
+            () -> policy.call(failingTimes(0), Deadline.after(Duration.ZERO))
+                .await().atMost(Duration.ofSeconds(5)));
+        assertEquals(0, attempts.get());
+    }
+
+    @Test
+    void testRetriesStopWhenBudgetIsExhausted() {
+        RetryBudget budget = new RetryBudget(0.1, 1);
+        RetryPolicy policy = new RetryPolicy("API", Duration.ofSeconds(1), 5, Duration.ZERO, Duration.ZERO, Duration.ZERO, budget);
+
+        assertThrows(IllegalStateException.class,
+            () -> policy.call(failingTimes(10), Deadline.none()).await().atMost(Duration.ofSeconds(5)));
+        assertEquals(2, attempts.get());
+        assertEquals(1, budget.rejected());
+    }
+
+    @Test
+    void testBackoffIsJitteredAndCapped() {
+        RetryPolicy policy = new RetryPolicy("API", Duration.ofSeconds(1), 5, Duration.ofMillis(100), Duration.ofMillis(300),
+            Duration.ZERO, RetryBudget.unlimited());
+
+        for (int i = 0; i < 20; i++) {
+            long first = policy.backoff(0).toMillis();
+            long capped = policy.backoff(4).toMillis();
+            assertTrue(first >= 50 && first <= 100, "first backoff " + first);
+            assertTrue(capped >= 150 && capped <= 300, "capped backoff " + capped);
+        }
+    }
+
+    @Test
+    void testEachAttemptIsRecordedWhileTheEventIsEnabled() throws Exception {
+        RetryPolicy policy = new RetryPolicy("API", Duration.ofSeconds(1), 2, Duration.ZERO, Duration.ZERO, Duration.ZERO,
+            RetryBudget.unlimited());
+        Path dump = Files.createTempFile("provider-calls", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(ProviderCallEvent.class);
+            recording.start();
+            policy.call(failingTimes(1), Deadline.none()).await().atMost(Duration.ofSeconds(5));
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+            .filter(event -> event.getEventType().getName().equals("com.currency.ProviderCall"))
+            .sorted(Comparator.comparingInt(event -> event.getInt("attempt")))
+            .toList();
+        Files.deleteIfExists(dump);
+        assertEquals(2, events.size());
+        assertEquals("API", events.get(0).getString("provider"));
+        assertEquals(1, events.get(0).getInt("attempt"));
+        assertEquals(ProviderCallEvent.ERROR, events.get(0).getString("outcome"));
+        assertEquals(2, events.get(1).getInt("attempt"));
+        assertEquals(ProviderCallEvent.SUCCESS, events.get(1).getString("outcome"));
+    }
+}
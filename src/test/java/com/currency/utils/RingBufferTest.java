@@ -0,0 +1,33 @@
+package com.currency.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class RingBufferTest {
+
+    @Test
+    void testReturnsLatestValuesNewestFirst() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.add(i);
+        }
+
+        assertEquals(List.of(4, 3, 2), buffer.latest(3));
+        assertEquals(List.of(4, 3, 2, 1, 0), buffer.latest(100));
+    }
+
+    @Test
+    void testOverwritesOldestValues() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(3);
+        for (int i = 0; i < 10; i++) {
+            buffer.add(i);
+        }
+
+        assertEquals(4, buffer.capacity());
+        assertEquals(List.of(9, 8, 7, 6), buffer.latest(100));
+        assertEquals(10, buffer.written());
+    }
+}